@@ -0,0 +1,80 @@
+package com.diary.kong.dto;
+
+import com.diary.kong.model.MoodStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 월별 목록 응답(31개 DiaryDetailDto)의 인코딩별 직렬화 CPU 와 전송 바이트.
+ * format: @EnableWebMvc 가 Accept 로 고르는 JSON / CBOR 컨버터와 같은 Jackson2ObjectMapperBuilder 기본 설정.
+ * encodeGzip 은 Tomcat 압축(server.compression)과 같은 기본 레벨의 gzip 을 더한 비용이다.
+ * 바이트 수는 trial 시작 때 한 번 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiaryMonthEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<DiaryDetailDto> monthOfDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        monthOfDtos = new ArrayList<>();
+        LocalDate first = LocalDate.of(2025, 3, 1);
+        for (int day = 0; day < 31; day++) {
+            monthOfDtos.add(DiaryDetailDto.builder()
+                .id(1000L + day)
+                .content("오늘은 " + (day + 1) + "일. 아침에 산책을 하고 점심엔 친구를 만나 이야기를 오래 나눴다. "
+                    + "저녁에는 일찍 잠자리에 들었다. 내일은 조금 더 부지런해지자!")
+                .mood(day % 3 == 0 ? "SAD" : "HAPPY")
+                .moodStatus(MoodStatus.COMPLETED)
+                .date(first.plusDays(day).toString())
+                .createdAt(LocalDateTime.of(2025, 3, 1, 21, 30, 12, 345_678_000).plusDays(day))
+                .build());
+        }
+
+        System.out.printf("%n[bytes] %s: %d, gzip: %d%n", format, encode().length, encodeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(monthOfDtos);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(2048);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, monthOfDtos);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.diary.kong.dto;
+
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 한 달(31개) 일기의 엔티티 -> DiaryDetailDto 매핑과 JSON 직렬화 비용.
+ * ObjectMapper 는 @EnableWebMvc 가 쓰는 것과 같은 Jackson2ObjectMapperBuilder 기본 설정이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiaryMonthSerializationBenchmark {
+
+    private List<Diary> monthOfDiaries;
+    private List<DiaryDetailDto> monthOfDtos;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        monthOfDiaries = new ArrayList<>();
+        LocalDate first = LocalDate.of(2025, 3, 1);
+        for (int day = 0; day < 31; day++) {
+            monthOfDiaries.add(Diary.builder()
+                .id(1000L + day)
+                .content("오늘은 " + (day + 1) + "일. 아침에 산책을 하고 점심엔 친구를 만나 이야기를 오래 나눴다. "
+                    + "저녁에는 일찍 잠자리에 들었다. 내일은 조금 더 부지런해지자!")
+                .mood(Mood.HAPPY)
+                .moodStatus(MoodStatus.COMPLETED)
+                .date(first.plusDays(day))
+                .createdAt(LocalDateTime.of(2025, 3, 1, 21, 30).plusDays(day))
+                .build());
+        }
+        monthOfDtos = mapMonth();
+    }
+
+    @Benchmark
+    public List<DiaryDetailDto> mapMonth() {
+        return monthOfDiaries.stream().map(DiaryDetailDto::from).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeMonth() throws Exception {
+        return objectMapper.writeValueAsBytes(monthOfDtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeMonth() throws Exception {
+        return objectMapper.writeValueAsBytes(mapMonth());
+    }
+}
@@ -0,0 +1,159 @@
+package com.diary.kong.repository;
+
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodConverter;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 일기 목록 조회: 엔티티 로딩 + DiaryDetailDto.from 매핑(이전 경로) vs JPQL 생성자 프로젝션(DiaryRepository.findMonthView).
+ * H2 메모리 DB 에 20k 행을 넣고 조회 구간을 한 달(31행)과 전체(12k행)로 바꿔 가며 잰다.
+ * 할당량 비교는 gc 프로파일러로: gradle jmh -Pjmh.includes=DiaryReadPathBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiaryReadPathBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:diary-read-bench;DB_CLOSE_DELAY=-1";
+    private static final int TARGET_USER_DIARIES = 12_000;
+    private static final int OTHER_DIARIES = 8_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(1990, 1, 1);
+
+    private static final String ENTITY_QUERY =
+        "select d from Diary d where d.user.id = :userId and d.date between :startDate and :endDate order by d.date";
+    private static final String PROJECTION_QUERY =
+        "select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) "
+            + "from Diary d where d.user.id = :userId and d.date between :startDate and :endDate order by d.date";
+
+    @Param({"31", "12000"})
+    public int days;
+
+    private SessionFactory sessionFactory;
+    private Connection keepAlive;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Diary.class)
+            .addAttributeConverter(MoodConverter.class)
+            .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, URL)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+            .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.SHOW_SQL, "false")
+            .buildSessionFactory();
+
+        insertRows();
+        startDate = FIRST_DAY;
+        endDate = FIRST_DAY.plusDays(days - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        keepAlive.close();
+    }
+
+    // 이전 경로: 관리 엔티티(+ User 프록시, 스냅샷)를 만든 뒤 DTO 로 복사
+    @Benchmark
+    public List<DiaryDetailDto> entityThenMap() {
+        return inReadOnlyTransaction(em -> em.createQuery(ENTITY_QUERY, Diary.class)
+            .setParameter("userId", 1L)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getResultList()
+            .stream()
+            .map(DiaryDetailDto::from)
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<DiaryDetailDto> constructorProjection() {
+        return inReadOnlyTransaction(em -> em.createQuery(PROJECTION_QUERY, DiaryDetailDto.class)
+            .setParameter("userId", 1L)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getResultList());
+    }
+
+    // @Transactional(readOnly = true) 와 같은 설정: 읽기 전용 세션, 수동 flush
+    private <T> T inReadOnlyTransaction(Function<EntityManager, T> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            Transaction tx = session.beginTransaction();
+            try {
+                return work.apply(session);
+            } finally {
+                tx.commit();
+            }
+        }
+    }
+
+    private void insertRows() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (id, email, password, nickname) VALUES (1, 'target@kong.com', 'hash', 'kong')");
+            statement.executeUpdate("INSERT INTO users (id, email, password, nickname) VALUES (2, 'other@kong.com', 'hash', 'kong')");
+        }
+
+        String sql = "INSERT INTO diary (id, content, mood, mood_status, mood_attempts, date, created_at, user_id) "
+            + "VALUES (?, ?, ?, ?, 1, ?, ?, ?)";
+        try (PreparedStatement insert = keepAlive.prepareStatement(sql)) {
+            for (int i = 0; i < TARGET_USER_DIARIES + OTHER_DIARIES; i++) {
+                boolean target = i < TARGET_USER_DIARIES;
+                LocalDate date = FIRST_DAY.plusDays(target ? i : i - TARGET_USER_DIARIES);
+                insert.setLong(1, i + 1L);
+                insert.setString(2, "오늘은 산책을 하고 친구를 만나 이야기를 오래 나눴다. 일기 #" + i);
+                insert.setShort(3, Mood.values()[i % Mood.values().length].getCode());
+                insert.setString(4, MoodStatus.COMPLETED.name());
+                insert.setDate(5, Date.valueOf(date));
+                insert.setTimestamp(6, Timestamp.valueOf(date.atTime(21, 30)));
+                insert.setLong(7, target ? 1L : 2L);
+                insert.addBatch();
+                if (i % 1_000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+}
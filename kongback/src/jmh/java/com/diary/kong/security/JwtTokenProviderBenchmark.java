@@ -0,0 +1,40 @@
+package com.diary.kong.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "CJQ/O+LTpXHjBnaoDj9Feni1dtHWNMU6I1nHYywa+HA=";
+
+    private JwtTokenProvider tokenProvider;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(null, new SimpleMeterRegistry(), SECRET, 3_600_000L, 1_209_600_000L);
+        accessToken = issueAccessToken();
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return tokenProvider.generateAccessToken("bench@kong.com");
+    }
+
+    @Benchmark
+    public Object parseAndValidate() {
+        return tokenProvider.parseAndValidate(accessToken);
+    }
+}
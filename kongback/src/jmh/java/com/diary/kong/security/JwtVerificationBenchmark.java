@@ -0,0 +1,76 @@
+package com.diary.kong.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 필터 1회 통과 비용: 검증 캐시 적중 vs 매 요청 서명 검증 + 클레임 파싱.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "CJQ/O+LTpXHjBnaoDj9Feni1dtHWNMU6I1nHYywa+HA=";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private MockHttpServletRequest request;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(null, new SimpleMeterRegistry(), SECRET, 3_600_000L, 1_209_600_000L);
+
+        accessToken = tokenProvider.generateAccessToken("bench@kong.com");
+
+        cachedFilter = new JwtAuthenticationFilter(tokenProvider,
+            new VerifiedTokenCache(new SimpleMeterRegistry(), true, 10_000, 300_000), new SimpleMeterRegistry());
+        uncachedFilter = new JwtAuthenticationFilter(tokenProvider,
+            new VerifiedTokenCache(new SimpleMeterRegistry(), false, 10_000, 300_000), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/v1/diaries/user/1");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void filterWithVerifiedCache() throws Exception {
+        cachedFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        request.removeAttribute(cachedFilter.getClass().getName() + ".FILTERED");
+    }
+
+    @Benchmark
+    public void filterWithoutCache() throws Exception {
+        uncachedFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        request.removeAttribute(uncachedFilter.getClass().getName() + ".FILTERED");
+    }
+
+    @Benchmark
+    public void validateThenGetEmail(Blackhole blackhole) {
+        // 변경 전 필터의 경로: validateToken + getEmail 로 두 번 파싱
+        blackhole.consume(tokenProvider.validateToken(accessToken));
+        blackhole.consume(tokenProvider.getEmail(accessToken));
+    }
+}
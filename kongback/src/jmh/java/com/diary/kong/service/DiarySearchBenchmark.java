@@ -0,0 +1,222 @@
+package com.diary.kong.service;
+
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.dto.DiarySearchHitDto;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.DiaryToken;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodConverter;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 일기 검색 한 페이지(20건 + 전체 건수): LIKE '%검색어%' 스캔 vs bigram 역색인(DiarySearchService 와 같은 쿼리/순위 계산).
+ * 검색 대상 사용자의 일기 수(corpus)를 1년/10년치 규모로 바꾸고, 다른 사용자 일기 5k 건을 함께 둔다.
+ * "바다" 는 약 2% 의 일기에, "산책" 은 약 19% 의 일기에 나온다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiarySearchBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:diary-search-bench;DB_CLOSE_DELAY=-1";
+    private static final int OTHER_DIARIES = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(1990, 1, 1);
+
+    private static final String[] PHRASES = {
+        "아침에 일찍 일어났다.", "회사에서 회의가 길어졌다.", "점심으로 김치찌개를 먹었다.", "친구와 카페에서 이야기를 나눴다.",
+        "저녁에 공원을 산책했다.", "비가 와서 우산을 챙겼다.", "책을 읽다가 잠들었다.", "운동을 하고 나니 개운했다.",
+        "엄마에게 전화를 드렸다.", "야근 때문에 피곤했다.", "영화를 보고 울었다.", "시험 공부를 했다.",
+        "강아지와 놀았다.", "새로운 노래를 들었다.", "버스를 놓쳐서 지각했다."
+    };
+    private static final String RARE_PHRASE = "주말에 바다에 다녀왔다.";
+
+    private static final String LIKE_PAGE_QUERY =
+        "select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) "
+            + "from Diary d where d.user.id = :userId and lower(d.content) like :pattern order by d.date desc, d.id desc";
+    private static final String LIKE_COUNT_QUERY =
+        "select count(d) from Diary d where d.user.id = :userId and lower(d.content) like :pattern";
+    private static final String CANDIDATE_QUERY =
+        "select t.id.diaryId from DiaryToken t where t.id.userId = :userId and t.id.token in :tokens "
+            + "group by t.id.diaryId having count(t) = :tokenCount order by t.id.diaryId desc";
+    private static final String VIEW_QUERY =
+        "select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) "
+            + "from Diary d where d.user.id = :userId and d.id in :ids";
+
+    @Param({"1000", "10000"})
+    public int corpus;
+
+    @Param({"바다", "산책"})
+    public String query;
+
+    private SessionFactory sessionFactory;
+    private Connection keepAlive;
+    private List<String> terms;
+    private List<String> bigrams;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Diary.class)
+            .addAnnotatedClass(DiaryToken.class)
+            .addAttributeConverter(MoodConverter.class)
+            .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, URL)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+            .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.SHOW_SQL, "false")
+            .buildSessionFactory();
+
+        insertRows();
+        terms = BigramTokenizer.terms(query);
+        List<String> tokens = BigramTokenizer.tokensOf(terms.get(0));
+        bigrams = tokens.subList(0, tokens.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public List<DiaryDetailDto> likeScan(Blackhole blackhole) {
+        return inReadOnlyTransaction(em -> {
+            String pattern = "%" + query + "%";
+            blackhole.consume(em.createQuery(LIKE_COUNT_QUERY, Long.class)
+                .setParameter("userId", 1L)
+                .setParameter("pattern", pattern)
+                .getSingleResult());
+            return em.createQuery(LIKE_PAGE_QUERY, DiaryDetailDto.class)
+                .setParameter("userId", 1L)
+                .setParameter("pattern", pattern)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        });
+    }
+
+    @Benchmark
+    public List<DiarySearchHitDto> invertedIndex() {
+        return inReadOnlyTransaction(em -> {
+            List<Long> candidates = em.createQuery(CANDIDATE_QUERY, Long.class)
+                .setParameter("userId", 1L)
+                .setParameter("tokens", bigrams)
+                .setParameter("tokenCount", (long) bigrams.size())
+                .setMaxResults(2_000)
+                .getResultList();
+            List<DiarySearchHitDto> hits = DiarySearchService.rank(em.createQuery(VIEW_QUERY, DiaryDetailDto.class)
+                .setParameter("userId", 1L)
+                .setParameter("ids", candidates)
+                .getResultList(), terms);
+            return new ArrayList<>(hits.subList(0, Math.min(PAGE_SIZE, hits.size())));
+        });
+    }
+
+    private <T> T inReadOnlyTransaction(Function<EntityManager, T> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            Transaction tx = session.beginTransaction();
+            try {
+                return work.apply(session);
+            } finally {
+                tx.commit();
+            }
+        }
+    }
+
+    private void insertRows() throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (id, email, password, nickname) VALUES (1, 'target@kong.com', 'hash', 'kong')");
+            statement.executeUpdate("INSERT INTO users (id, email, password, nickname) VALUES (2, 'other@kong.com', 'hash', 'kong')");
+        }
+
+        Random random = new Random(42);
+        String diarySql = "INSERT INTO diary (id, content, mood, mood_status, mood_attempts, date, created_at, user_id) "
+            + "VALUES (?, ?, ?, ?, 1, ?, ?, ?)";
+        String tokenSql = "INSERT INTO diary_token (user_id, token, diary_id, tf) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement diaries = keepAlive.prepareStatement(diarySql);
+             PreparedStatement tokens = keepAlive.prepareStatement(tokenSql)) {
+            for (int i = 0; i < corpus + OTHER_DIARIES; i++) {
+                long userId = i < corpus ? 1L : 2L;
+                long diaryId = i + 1L;
+                LocalDate date = FIRST_DAY.plusDays(i < corpus ? i : i - corpus);
+                String content = randomContent(random);
+
+                diaries.setLong(1, diaryId);
+                diaries.setString(2, content);
+                diaries.setShort(3, Mood.values()[i % Mood.values().length].getCode());
+                diaries.setString(4, MoodStatus.COMPLETED.name());
+                diaries.setDate(5, Date.valueOf(date));
+                diaries.setTimestamp(6, Timestamp.valueOf(date.atTime(21, 30)));
+                diaries.setLong(7, userId);
+                diaries.addBatch();
+
+                for (var token : BigramTokenizer.tokenize(content).entrySet()) {
+                    tokens.setLong(1, userId);
+                    tokens.setString(2, token.getKey());
+                    tokens.setLong(3, diaryId);
+                    tokens.setShort(4, token.getValue().shortValue());
+                    tokens.addBatch();
+                }
+                if (i % 500 == 499) {
+                    diaries.executeBatch();
+                    tokens.executeBatch();
+                }
+            }
+            diaries.executeBatch();
+            tokens.executeBatch();
+        }
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute("ANALYZE");  // 운영 DB 처럼 인덱스 선택도를 갱신한다
+        }
+    }
+
+    private static String randomContent(Random random) {
+        StringBuilder content = new StringBuilder();
+        for (int p = 0; p < 3; p++) {
+            content.append(PHRASES[random.nextInt(PHRASES.length)]).append(' ');
+        }
+        if (random.nextInt(50) == 0) {
+            content.append(RARE_PHRASE);
+        }
+        return content.toString().trim();
+    }
+}
@@ -0,0 +1,60 @@
+package com.diary.kong.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감정 분석 프롬프트 생성(단건/배치)과 로컬 분류기 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoodPromptBenchmark {
+
+    private static final String CONTENT = "오늘은 회사에서 발표를 했는데 생각보다 잘 끝나서 뿌듯했다. "
+        + "저녁에는 친구들과 맛있는 걸 먹으면서 한참 웃었다. 내일도 오늘만 같았으면 좋겠다.";
+
+    private MoodAnalysisService moodAnalysisService;
+    private MoodBatchClassifier batchClassifier;
+    private LocalMoodClassifier localMoodClassifier;
+    private List<MoodBatchClassifier.PendingMood> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        localMoodClassifier = new LocalMoodClassifier();
+        moodAnalysisService = new MoodAnalysisService(null, null, localMoodClassifier, null, new SimpleMeterRegistry());
+        batchClassifier = new MoodBatchClassifier(prompt -> "", content -> "", 16, 200, 1);
+
+        batch = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            batch.add(new MoodBatchClassifier.PendingMood(CONTENT + i, 0, new CompletableFuture<>()));
+        }
+    }
+
+    @Benchmark
+    public String singlePrompt() {
+        return moodAnalysisService.createMoodPrompt(CONTENT);
+    }
+
+    @Benchmark
+    public String batchPromptOf16() {
+        return batchClassifier.createBatchPrompt(batch);
+    }
+
+    @Benchmark
+    public LocalMoodClassifier.Result localClassify() {
+        return localMoodClassifier.classify(CONTENT);
+    }
+}
@@ -0,0 +1,54 @@
+package com.diary.kong.loadtest;
+
+import java.util.Arrays;
+
+// ✅ 가상 사용자 하나가 요청 종류 하나에 대해 모은 지연 시간(ns). 사용자끼리 공유하지 않아 락이 없다
+final class LatencySamples {
+
+    private long[] nanos = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long elapsedNanos) {
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = elapsedNanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+        }
+        System.arraycopy(other.nanos, 0, nanos, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    // 정렬한 뒤 nearest-rank 로 백분위 (ms)
+    double[] percentilesMillis(double... percentiles) {
+        long[] sorted = Arrays.copyOf(nanos, size);
+        Arrays.sort(sorted);
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (size == 0) {
+                continue;
+            }
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * size);
+            result[i] = sorted[Math.min(Math.max(rank, 1), size) - 1] / 1_000_000.0;
+        }
+        return result;
+    }
+}
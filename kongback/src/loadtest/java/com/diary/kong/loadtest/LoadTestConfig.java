@@ -0,0 +1,23 @@
+package com.diary.kong.loadtest;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+// ✅ loadtest 프로필: OpenAI 호출을 지연을 조절할 수 있는 스텁으로 바꾼다 (DB/Redis 는 application-loadtest.yml 과 LoadTestServer)
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    @Primary
+    public ChatModel stubChatModel(
+        @Value("${loadtest.llm.latency-ms:800}") long latencyMs,
+        @Value("${loadtest.llm.jitter-ms:400}") long jitterMs,
+        @Value("${loadtest.llm.error-rate:0}") double errorRate) {
+        return new StubChatModel(latencyMs, jitterMs, errorRate);
+    }
+}
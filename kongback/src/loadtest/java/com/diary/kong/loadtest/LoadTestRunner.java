@@ -0,0 +1,222 @@
+package com.diary.kong.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 발생기: 가상 사용자마다 계정을 만들고 일기를 미리 채운 뒤, 혼합 비율대로 요청을 보내
+ * 워밍업 이후 구간의 요청 종류별 처리량과 p50/p95/p99 를 출력하고 JSON 으로 남긴다.
+ *
+ * <p>설정 (시스템 프로퍼티, gradle 에서는 -Ploadtest.xxx):
+ * <ul>
+ *   <li>loadtest.target: 대상 서버 URL. 없으면 같은 프로세스에 loadtest 프로필 서버를 띄운다</li>
+ *   <li>loadtest.users: 동시 가상 사용자 수 (기본 20)</li>
+ *   <li>loadtest.warmup / loadtest.duration: 워밍업 / 측정 시간(초, 기본 10 / 60)</li>
+ *   <li>loadtest.mix: 요청 비율 (기본 {@value Operation#DEFAULT_MIX})</li>
+ *   <li>loadtest.seed-diaries: 사용자별로 미리 써 둘 일기 수 (기본 30)</li>
+ *   <li>loadtest.conditional: 월 조회를 받아 둔 ETag 로 재검증할지 (기본 true)</li>
+ *   <li>loadtest.think-ms: 요청 사이 대기 시간 (기본 0, 최대 처리량 측정)</li>
+ *   <li>loadtest.random-seed: 같은 값이면 같은 요청 순서를 재생한다 (기본 42)</li>
+ *   <li>loadtest.output: 결과 JSON 경로 (기본 build/results/loadtest/results.json)</li>
+ * </ul>
+ */
+public final class LoadTestRunner {
+
+    private static final int HISTORY_DAYS = 90;  // 최근 3개월 안에서 날짜를 고른다
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final String baseUrl;
+    private final int users;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Map<Operation, Integer> mix;
+    private final int seedDiaries;
+    private final boolean conditional;
+    private final long thinkMs;
+    private final long randomSeed;
+
+    private volatile boolean running = true;
+    private volatile boolean recording;
+
+    LoadTestRunner(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.users = Integer.getInteger("loadtest.users", 20);
+        this.warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+        this.durationSeconds = Integer.getInteger("loadtest.duration", 60);
+        this.mix = Operation.parseMix(System.getProperty("loadtest.mix", Operation.DEFAULT_MIX));
+        this.seedDiaries = Integer.getInteger("loadtest.seed-diaries", 30);
+        this.conditional = Boolean.parseBoolean(System.getProperty("loadtest.conditional", "true"));
+        this.thinkMs = Long.getLong("loadtest.think-ms", 0L);
+        this.randomSeed = Long.getLong("loadtest.random-seed", 42L);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("loadtest.target");
+        LoadTestServer server = target == null ? LoadTestServer.start(0, args) : null;
+        try {
+            LoadTestRunner runner = new LoadTestRunner(target == null ? server.baseUrl() : target);
+            Map<Operation, LatencySamples> results = runner.run();
+            runner.report(results);
+            runner.writeJson(results, new File(System.getProperty("loadtest.output", "build/results/loadtest/results.json")));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    Map<Operation, LatencySamples> run() throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            virtualUsers.add(new VirtualUser(http, objectMapper, baseUrl,
+                "load-" + runId + "-" + i + "@kong.com", HISTORY_DAYS, conditional, randomSeed + i));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        try {
+            System.out.printf("대상 %s, 가상 사용자 %d명, 사용자별 일기 %d건 준비 중...%n", baseUrl, users, seedDiaries);
+            List<Future<?>> setups = new ArrayList<>(users);
+            for (VirtualUser user : virtualUsers) {
+                setups.add(pool.submit(() -> {
+                    user.signUp();
+                    user.seedDiaries(seedDiaries);
+                    return null;
+                }));
+            }
+            for (Future<?> setup : setups) {
+                setup.get();
+            }
+
+            System.out.printf("워밍업 %d초, 측정 %d초 (혼합 %s)%n", warmupSeconds, durationSeconds, mix);
+            List<Future<?>> loops = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                VirtualUser user = virtualUsers.get(i);
+                Random random = new Random(randomSeed * 31 + i);
+                loops.add(pool.submit(() -> loop(user, random)));
+            }
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            recording = true;
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            running = false;
+            for (Future<?> loop : loops) {
+                loop.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // ✅ 루프가 모두 끝난 뒤에 합치므로 가상 사용자별 기록을 동기화 없이 읽어도 된다
+        Map<Operation, LatencySamples> merged = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            LatencySamples total = new LatencySamples();
+            virtualUsers.forEach(user -> total.addAll(user.samples().get(operation)));
+            merged.put(operation, total);
+        }
+        return merged;
+    }
+
+    private void loop(VirtualUser user, Random random) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            user.runOnce(pick(random.nextInt(totalWeight)), recording);
+            if (thinkMs > 0) {
+                try {
+                    Thread.sleep(thinkMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("가중치 합을 넘는 값: " + roll);
+    }
+
+    private void report(Map<Operation, LatencySamples> results) {
+        System.out.printf("%n%-40s %9s %7s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)");
+        LatencySamples all = new LatencySamples();
+        for (Map.Entry<Operation, LatencySamples> entry : results.entrySet()) {
+            if (entry.getValue().count() + entry.getValue().errors() > 0) {
+                printRow(entry.getKey().endpoint(), entry.getValue());
+                all.addAll(entry.getValue());
+            }
+        }
+        printRow("total", all);
+    }
+
+    private void printRow(String label, LatencySamples samples) {
+        double[] p = samples.percentilesMillis(PERCENTILES);
+        System.out.printf("%-40s %9d %7d %10.1f %10.2f %10.2f %10.2f%n",
+            label, samples.count(), samples.errors(), (double) samples.count() / durationSeconds, p[0], p[1], p[2]);
+    }
+
+    // ✅ 실행 설정과 함께 남겨서 릴리스/설정 간에 같은 조건의 결과를 비교할 수 있게 한다
+    private void writeJson(Map<Operation, LatencySamples> results, File output) throws IOException {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("target", baseUrl);
+        settings.put("users", users);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("mix", mix);
+        settings.put("seedDiaries", seedDiaries);
+        settings.put("conditional", conditional);
+        settings.put("thinkMs", thinkMs);
+        settings.put("randomSeed", randomSeed);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        results.forEach((operation, samples) -> {
+            double[] p = samples.percentilesMillis(PERCENTILES);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("operation", operation.key());
+            row.put("endpoint", operation.endpoint());
+            row.put("requests", samples.count());
+            row.put("errors", samples.errors());
+            row.put("throughput", (double) samples.count() / durationSeconds);
+            row.put("p50Ms", p[0]);
+            row.put("p95Ms", p[1]);
+            row.put("p99Ms", p[2]);
+            rows.add(row);
+        });
+
+        File directory = output.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("결과 디렉터리를 만들 수 없습니다: " + directory);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("settings", settings);
+        document.put("results", rows);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, document);
+        System.out.println("결과: " + output.getPath());
+    }
+}
@@ -0,0 +1,86 @@
+package com.diary.kong.loadtest;
+
+import com.diary.kong.KongBackApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * loadtest 프로필 서버: 빈 포트에 내장 redis-server 를 띄운 뒤 그 포트로 애플리케이션을 시작한다.
+ * (H2 와 OpenAI 스텁은 application-loadtest.yml / LoadTestConfig)
+ */
+public final class LoadTestServer implements AutoCloseable {
+
+    private final RedisServer redis;
+    private final ConfigurableApplicationContext context;
+    private final int port;
+
+    private LoadTestServer(RedisServer redis, ConfigurableApplicationContext context, int port) {
+        this.redis = redis;
+        this.context = context;
+        this.port = port;
+    }
+
+    // ✅ serverPort 가 0 이면 빈 포트를 쓴다 (LoadTestRunner 가 같은 프로세스에서 띄울 때)
+    public static LoadTestServer start(int serverPort, String... args) throws IOException {
+        int redisPort = freePort();
+        RedisServer redis = RedisServer.newRedisServer()
+            .bind("127.0.0.1")
+            .port(redisPort)
+            .setting("save \"\"")          // 스냅샷/AOF 를 남기지 않는다
+            .setting("appendonly no")
+            .build();
+        redis.start();
+
+        try {
+            // 명령행 인자로 넘겨야 application.yml 의 포트 설정보다 우선한다
+            List<String> arguments = new ArrayList<>(List.of(args));
+            arguments.add("--spring.data.redis.port=" + redisPort);
+            arguments.add("--server.port=" + serverPort);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(KongBackApplication.class)
+                .profiles("loadtest")
+                .run(arguments.toArray(String[]::new));
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return new LoadTestServer(redis, context, port);
+        } catch (RuntimeException e) {
+            redis.stop();
+            throw e;
+        }
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            redis.stop();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestServer server = start(Integer.getInteger("loadtest.server-port", 8080), args);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // 종료 중이라 더 할 일이 없다
+            }
+        }));
+        System.out.println("loadtest 서버 실행 중: " + server.baseUrl() + " (Ctrl+C 로 종료)");
+    }
+}
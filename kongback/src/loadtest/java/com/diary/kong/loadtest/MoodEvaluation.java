@@ -0,0 +1,163 @@
+package com.diary.kong.loadtest;
+
+import com.diary.kong.model.Mood;
+import com.diary.kong.service.LocalMoodClassifier;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 로컬 감정 분류기 오프라인 평가: 라벨이 붙은 일기 표본(LLM 이 기록한 감정)에 대해
+ * 로컬에서 끝나는 비율(coverage), 그중 LLM 라벨과 같은 비율(agreement), 분류 한 번의 p50/p99 지연을 출력한다.
+ * 테스트가 아니므로 기준값으로 실패하지 않는다. 임계값을 바꾸기 전후로 돌려 비교한다.
+ *
+ * <p>입력은 {@code <감정>\t<일기 내용>} 한 줄씩인 TSV (# 으로 시작하는 줄은 건너뛴다).
+ * 감정은 라벨 이름(HAPPY)이나 DB 의 smallint 코드(1) 모두 받는다. 예) 운영 DB 에서 떼어 둔 표본:
+ * {@code select mood, replace(replace(content, '\t', ' '), '\n', ' ') from diary where mood_status = 'COMPLETED'}
+ *
+ * <p>설정 (시스템 프로퍼티, gradle 에서는 -Pmood-eval.xxx):
+ * <ul>
+ *   <li>mood-eval.file: 평가할 TSV 경로 (필수)</li>
+ *   <li>mood-eval.threshold: 확신도 임계값 (기본 application.yml 의 mood.local.confidence-threshold)</li>
+ *   <li>mood-eval.warmup-rounds: 지연을 재기 전에 표본 전체를 분류해 둘 횟수 (기본 200)</li>
+ *   <li>mood-eval.measure-rounds: 지연을 잴 때 표본 전체를 반복할 횟수 (기본 20, 표본이 작아도 p99 가 최댓값 하나로 정해지지 않게)</li>
+ *   <li>mood-eval.show-disagreements: 라벨이 어긋난 문장을 몇 개까지 보여 줄지 (기본 20)</li>
+ * </ul>
+ */
+public final class MoodEvaluation {
+
+    private static final double[] PERCENTILES = {50, 99};
+
+    private final LocalMoodClassifier classifier = new LocalMoodClassifier();
+    private final double threshold;
+    private final int warmupRounds;
+    private final int measureRounds;
+    private final int showDisagreements;
+
+    MoodEvaluation(double threshold, int warmupRounds, int measureRounds, int showDisagreements) {
+        this.threshold = threshold;
+        this.warmupRounds = warmupRounds;
+        this.measureRounds = measureRounds;
+        this.showDisagreements = showDisagreements;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String file = System.getProperty("mood-eval.file");
+        if (file == null) {
+            throw new IllegalArgumentException("-Pmood-eval.file=<라벨 TSV> 가 필요합니다.");
+        }
+        String threshold = System.getProperty("mood-eval.threshold");
+        MoodEvaluation evaluation = new MoodEvaluation(
+            threshold == null ? configuredThreshold() : Double.parseDouble(threshold),
+            Integer.getInteger("mood-eval.warmup-rounds", 200),
+            Integer.getInteger("mood-eval.measure-rounds", 20),
+            Integer.getInteger("mood-eval.show-disagreements", 20));
+        evaluation.run(Path.of(file));
+    }
+
+    void run(Path file) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        int skipped = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", 2);
+            Optional<Mood> label = columns.length == 2 ? parseLabel(columns[0]) : Optional.empty();
+            if (label.isEmpty() || columns[1].isBlank()) {
+                skipped++;
+                continue;
+            }
+            samples.add(new Sample(label.get(), columns[1]));
+        }
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("평가할 표본이 없습니다: " + file);
+        }
+
+        for (int i = 0; i < warmupRounds; i++) {
+            samples.forEach(sample -> classifier.classify(sample.content()));
+        }
+
+        LatencySamples latencies = new LatencySamples();
+        for (int i = 0; i < measureRounds; i++) {
+            for (Sample sample : samples) {
+                long start = System.nanoTime();
+                classifier.classify(sample.content());
+                latencies.record(System.nanoTime() - start);
+            }
+        }
+
+        Map<Mood, int[]> byLabel = new EnumMap<>(Mood.class);  // 라벨별 {표본, 로컬, 일치}
+        List<String> disagreements = new ArrayList<>();
+        int covered = 0;
+        int agreed = 0;
+        for (Sample sample : samples) {
+            LocalMoodClassifier.Result result = classifier.classify(sample.content());
+            int[] counts = byLabel.computeIfAbsent(sample.label(), label -> new int[3]);
+            counts[0]++;
+            if (result.getMood() == null || result.getConfidence() < threshold) {
+                continue;
+            }
+            covered++;
+            counts[1]++;
+            if (result.getMood() == sample.label()) {
+                agreed++;
+                counts[2]++;
+            } else if (disagreements.size() < showDisagreements) {
+                disagreements.add(String.format("%s -> %s (%.2f) : %s",
+                    sample.label(), result.getMood(), result.getConfidence(), sample.content()));
+            }
+        }
+
+        double[] millis = latencies.percentilesMillis(PERCENTILES);
+        System.out.printf("%n로컬 감정 분류기 평가: %s (표본 %d, 형식 오류로 건너뜀 %d, 임계값 %.2f)%n",
+            file, samples.size(), skipped, threshold);
+        System.out.printf("  coverage  %6.1f%%  (%d / %d 로컬에서 결정)%n", percent(covered, samples.size()), covered, samples.size());
+        System.out.printf("  agreement %6.1f%%  (%d / %d LLM 라벨과 일치)%n", percent(agreed, covered), agreed, covered);
+        System.out.printf("  latency   p50 %.1fus  p99 %.1fus%n", millis[0] * 1000, millis[1] * 1000);
+
+        System.out.printf("%n  %-10s %8s %10s %10s%n", "label", "samples", "coverage", "agreement");
+        byLabel.forEach((label, counts) -> System.out.printf("  %-10s %8d %9.1f%% %9.1f%%%n",
+            label, counts[0], percent(counts[1], counts[0]), percent(counts[2], counts[1])));
+
+        if (!disagreements.isEmpty()) {
+            System.out.printf("%n  어긋난 판정 (최대 %d개, LLM -> 로컬):%n", showDisagreements);
+            disagreements.forEach(line -> System.out.println("  " + line));
+        }
+    }
+
+    // 라벨 이름 또는 DB 의 smallint 코드
+    private static Optional<Mood> parseLabel(String value) {
+        String trimmed = value.trim();
+        if (!trimmed.isEmpty() && trimmed.chars().allMatch(Character::isDigit)) {
+            try {
+                return Optional.of(Mood.fromCode(Short.parseShort(trimmed)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+        return Mood.fromLabel(trimmed);
+    }
+
+    private static double configuredThreshold() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        return Double.parseDouble(yaml.getObject().getProperty("mood.local.confidence-threshold", "0.6"));
+    }
+
+    private static double percent(int part, int total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    private record Sample(Mood label, String content) {
+    }
+}
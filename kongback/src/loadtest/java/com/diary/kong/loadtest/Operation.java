@@ -0,0 +1,51 @@
+package com.diary.kong.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// ✅ 부하 혼합을 이루는 요청 종류 (endpoint 는 http.server.requests 의 uri 태그와 같은 형식)
+enum Operation {
+    LOGIN("POST /api/v1/auth/login"),
+    REFRESH("POST /api/v1/auth/refresh"),
+    MONTH("GET /api/v1/diaries/user/{userId}"),
+    CREATE("POST /api/v1/diaries/create"),
+    UPDATE("PUT /api/v1/diaries/update/{diaryId}");
+
+    // 월 조회 위주의 실사용 비율 (일기 앱은 읽기가 대부분이고 작성은 하루 한두 번)
+    static final String DEFAULT_MIX = "login=5,refresh=5,month=60,create=20,update=10";
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // "login=5,month=60,..." → 가중치 (빠진 요청은 0)
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix 형식이 잘못되었습니다: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("가중치는 0 이상이어야 합니다: " + entry);
+            }
+            weights.put(valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix 가중치 합이 0 입니다.");
+        }
+        return weights;
+    }
+}
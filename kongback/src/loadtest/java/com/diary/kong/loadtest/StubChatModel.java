@@ -0,0 +1,66 @@
+package com.diary.kong.loadtest;
+
+import com.diary.kong.service.MoodAnalysisService;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 대신 쓰는 ChatModel: 설정한 지연(평균 ± 흔들림) 뒤에 형식에 맞는 감정 라벨을 돌려준다.
+ * 단건 프롬프트에는 라벨 하나, 배치 프롬프트(번호 매긴 일기 목록)에는 "번호: 라벨" 줄을 돌려준다.
+ */
+public class StubChatModel implements ChatModel {
+
+    // MoodBatchClassifier.createBatchPrompt 의 항목 줄: 1. "일기 내용"
+    private static final Pattern BATCH_ITEM = Pattern.compile("(?m)^\\s*(\\d+)\\. \"(.*)\"$");
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+
+    public StubChatModel(long latencyMs, long jitterMs, double errorRate) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = Math.max(0, latencyMs + (jitterMs == 0 ? 0 : random.nextLong(-jitterMs, jitterMs + 1)));
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            // LlmCallGuard 가 제한 시간 초과로 취소한 경우
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("stub call interrupted", e);
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new IllegalStateException("stub model error");
+        }
+
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(reply(prompt.getContents())))));
+    }
+
+    static String reply(String prompt) {
+        Matcher items = BATCH_ITEM.matcher(prompt);
+        StringBuilder lines = new StringBuilder();
+        while (items.find()) {
+            lines.append(items.group(1)).append(": ").append(label(items.group(2))).append('\n');
+        }
+        return lines.isEmpty() ? label(prompt) : lines.toString();
+    }
+
+    // ✅ 같은 내용에는 항상 같은 라벨 (감정 결과 캐시가 실제처럼 동작하도록)
+    private static String label(String content) {
+        List<String> labels = MoodAnalysisService.MOOD_LABELS;
+        return labels.get(Math.floorMod(content.hashCode(), labels.size()));
+    }
+}
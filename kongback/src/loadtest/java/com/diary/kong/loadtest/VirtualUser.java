@@ -0,0 +1,226 @@
+package com.diary.kong.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 계정 하나를 가진 가상 사용자. 혼합 비율에 따라 요청을 골라 응답을 받을 때까지 기다린 뒤 다음 요청을 보낸다 (closed loop).
+ * 토큰과 작성한 일기 id 를 들고 다녀서 갱신/수정 요청이 실제 사용 흐름과 같은 데이터를 건드린다.
+ */
+final class VirtualUser {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final DateTimeFormatter YEAR_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // 로컬 분류기가 확신하는 문장과 애매해서 ChatModel 로 넘어가는 문장을 섞는다
+    private static final String[] PHRASES = {
+        "아침에 일찍 일어났다.", "회사에서 회의가 길어졌다.", "점심으로 김치찌개를 먹었다.", "친구와 카페에서 이야기를 나눴다.",
+        "저녁에 공원을 산책했다.", "비가 와서 우산을 챙겼다.", "책을 읽다가 잠들었다.", "운동을 하고 나니 개운했다.",
+        "정말 행복한 하루였다.", "너무 화가 나서 잠이 안 온다.", "슬퍼서 한참 울었다.", "야근 때문에 피곤했다.",
+        "시험 결과가 걱정된다.", "강아지와 놀았다.", "버스를 놓쳐서 지각했다."
+    };
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final int historyDays;
+    private final boolean conditional;
+    private final Random random;
+
+    private long userId;
+    private String accessToken;
+    private String refreshToken;
+    private final List<Long> diaryIds = new ArrayList<>();
+    private final Map<String, String> monthETags = new HashMap<>();
+
+    private final Map<Operation, LatencySamples> samples = new EnumMap<>(Operation.class);
+
+    VirtualUser(HttpClient http, ObjectMapper objectMapper, String baseUrl, String email, int historyDays,
+        boolean conditional, long seed) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = "loadtest-password";
+        this.historyDays = historyDays;
+        this.conditional = conditional;
+        this.random = new Random(seed);
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new LatencySamples());
+        }
+    }
+
+    void signUp() throws IOException, InterruptedException {
+        // 이미 있는 계정(같은 대상에 다시 실행)이면 999 응답이 오고, 로그인만 하면 된다
+        send(json(request("/api/v1/user/signup"), "POST",
+            Map.of("email", email, "password", password, "nickname", "load")));
+        expectOk(login(), "로그인");
+    }
+
+    void seedDiaries(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            expectOk(create(), "일기 작성");
+        }
+    }
+
+    // ✅ recording 이 꺼져 있는 동안(워밍업)은 요청만 보내고 기록하지 않는다
+    void runOnce(Operation operation, boolean recording) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = switch (operation) {
+                case LOGIN -> login();
+                case REFRESH -> refresh();
+                case MONTH -> monthView();
+                case CREATE -> create();
+                case UPDATE -> update();
+            };
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!recording) {
+            return;
+        }
+        LatencySamples operationSamples = samples.get(operation);
+        if (ok) {
+            operationSamples.record(System.nanoTime() - start);
+        } else {
+            operationSamples.error();
+        }
+    }
+
+    Map<Operation, LatencySamples> samples() {
+        return samples;
+    }
+
+    private boolean login() throws IOException, InterruptedException {
+        JsonNode body = successBody(send(json(request("/api/v1/auth/login"), "POST",
+            Map.of("email", email, "password", password))));
+        if (body == null) {
+            return false;
+        }
+        JsonNode data = body.path("data");
+        userId = data.path("user").path("id").asLong();
+        accessToken = data.path("accessToken").asText();
+        refreshToken = data.path("refreshToken").asText();
+        return true;
+    }
+
+    private boolean refresh() throws IOException, InterruptedException {
+        JsonNode body = successBody(send(request("/api/v1/auth/refresh")
+            .header("Content-Type", "text/plain")
+            .POST(HttpRequest.BodyPublishers.ofString(refreshToken))));
+        if (body == null) {
+            return false;
+        }
+        JsonNode data = body.path("data");
+        accessToken = data.path("accessToken").asText();
+        refreshToken = data.path("refreshToken").asText();
+        return true;
+    }
+
+    private boolean monthView() throws IOException, InterruptedException {
+        String yearMonth = LocalDate.now().minusDays(random.nextInt(historyDays)).format(YEAR_MONTH);
+        HttpRequest.Builder request = authorized(request("/api/v1/diaries/user/" + userId + "?yearMonth=" + yearMonth).GET());
+        // 모바일 앱처럼 받아 둔 달은 ETag 로 재검증한다
+        String eTag = conditional ? monthETags.get(yearMonth) : null;
+        if (eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+        HttpResponse<String> response = send(request);
+        if (response.statusCode() == 304) {
+            return true;
+        }
+        // 성공이면 배열, 업무 오류면 ApiResponse 객체 (목록은 크므로 파싱하지 않고 첫 글자만 본다)
+        boolean ok = response.statusCode() == 200 && response.body().startsWith("[");
+        if (ok) {
+            response.headers().firstValue("ETag").ifPresent(value -> monthETags.put(yearMonth, value));
+        }
+        return ok;
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        JsonNode body = successBody(send(authorized(json(request("/api/v1/diaries/create?userId=" + userId), "POST",
+            Map.of("content", randomContent(), "date", randomDate())))));
+        if (body == null) {
+            return false;
+        }
+        diaryIds.add(body.path("id").asLong());
+        return true;
+    }
+
+    private boolean update() throws IOException, InterruptedException {
+        if (diaryIds.isEmpty()) {
+            return create();
+        }
+        long diaryId = diaryIds.get(random.nextInt(diaryIds.size()));
+        return successBody(send(authorized(json(request("/api/v1/diaries/update/" + diaryId), "PUT",
+            Map.of("content", randomContent(), "date", randomDate()))))) != null;
+    }
+
+    private String randomContent() {
+        StringBuilder content = new StringBuilder();
+        int sentences = 2 + random.nextInt(4);
+        for (int i = 0; i < sentences; i++) {
+            content.append(PHRASES[random.nextInt(PHRASES.length)]).append(' ');
+        }
+        return content.toString().trim();
+    }
+
+    private String randomDate() {
+        return LocalDate.now().minusDays(random.nextInt(historyDays)).toString();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path));
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder request, String method, Map<String, ?> body) throws IOException {
+        return request.header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + accessToken);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // ✅ CustomException 은 HTTP 200 에 본문 status(401, 999 ...)로 오류를 알리므로 본문까지 확인한다
+    private JsonNode successBody(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        JsonNode status = body.path("status");
+        return status.isInt() && status.asInt() != 200 ? null : body;
+    }
+
+    private static void expectOk(boolean ok, String step) throws IOException {
+        if (!ok) {
+            throw new IOException(step + " 요청이 실패했습니다.");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.diary.kong.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RedisTemplate 의 값 직렬화를 GenericJackson2JsonRedisSerializer 에서 StringRedisSerializer 로
+ * 바꾸기 전에 저장된 값("..." 형태의 JSON 문자열)을 평문으로 옮긴다.
+ * 기동 시 한 번 SCAN 으로 훑으며, 남은 TTL 은 그대로 유지한다.
+ */
+@Slf4j
+@Component
+public class LegacyRedisValueMigrator implements ApplicationRunner {
+
+    static final List<String> KEY_PATTERNS = List.of("RT:*", "MOOD:*");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // ✅ 값이 그대로일 때만 TTL 을 보존하며 교체한다 (그 사이 회전된 토큰을 덮어쓰지 않도록)
+    private static final RedisScript<Long> REPLACE_KEEP_TTL = RedisScript.of(
+        "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end "
+            + "local ttl = redis.call('PTTL', KEYS[1]) "
+            + "if ttl > 0 then redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl) "
+            + "else redis.call('SET', KEYS[1], ARGV[2]) end "
+            + "return 1",
+        Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+
+    public LegacyRedisValueMigrator(RedisTemplate<String, String> redisTemplate,
+        @Value("${redis.migration.legacy-json-values:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long migrated = 0;
+        try {
+            for (String pattern : KEY_PATTERNS) {
+                migrated += migrate(pattern);
+            }
+        } catch (Exception e) {
+            // 마이그레이션 실패로 기동을 막지 않는다 (읽기 측에서도 unwrapLegacyJson 으로 호환)
+            log.warn("Redis 레거시 값 변환 중단: {}", e.getMessage());
+        }
+
+        if (migrated > 0) {
+            log.info("Redis 레거시 JSON 값 {}건을 평문으로 변환했습니다.", migrated);
+        }
+    }
+
+    private long migrate(String pattern) {
+        long migrated = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String stored = redisTemplate.opsForValue().get(key);
+                String plain = unwrapLegacyJson(stored);
+                if (stored == null || plain.equals(stored)) {
+                    continue;
+                }
+                Long replaced = redisTemplate.execute(REPLACE_KEEP_TTL, Collections.singletonList(key), stored, plain);
+                if (replaced != null && replaced == 1L) {
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    // ✅ "..." 로 감싸진 JSON 문자열이면 풀어서 반환하고, 아니면 그대로 반환한다
+    public static String unwrapLegacyJson(String value) {
+        if (value == null || value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return value;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(value, String.class);
+        } catch (JsonProcessingException e) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.diary.kong.cache;
+
+import com.diary.kong.service.DiaryChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.Collections;
+
+/**
+ * (userId, 연월) 단위 버전 스탬프: 그 달의 일기가 마지막으로 바뀐 시각(ms).
+ * 월별 조회의 ETag 로 쓰이며, 모든 노드가 같은 값을 보도록 Redis 에 둔다.
+ * 일기가 바뀌면 커밋 이후 한 번 올리고, 조회는 스크립트 한 번(EVALSHA)으로 읽는다.
+ */
+@Slf4j
+@Component
+public class MonthVersionStamps {
+
+    // 버전을 알 수 없을 때 (비활성화, Redis 장애): 조건부 응답 없이 항상 본문을 보낸다
+    public static final long UNKNOWN = 0L;
+
+    private static final RedisScript<Long> BUMP_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/bump-month-version.lua"), Long.class);
+    private static final RedisScript<Long> CURRENT_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/current-month-version.lua"), Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Counter failures;
+
+    public MonthVersionStamps(RedisTemplate<String, String> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${diary.month-version.enabled:true}") boolean enabled,
+        @Value("${diary.month-version.ttl-ms:2592000000}") long ttlMs) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.failures = meterRegistry.counter("diary.month.version.failures");
+    }
+
+    public long current(Long userId, YearMonth month) {
+        if (!enabled) {
+            return UNKNOWN;
+        }
+        try {
+            Long version = redisTemplate.execute(CURRENT_SCRIPT, Collections.singletonList(keyOf(userId, month)),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(ttlMs));
+            return version == null ? UNKNOWN : version;
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("월별 버전 조회 실패 (userId={}, month={}): {}", userId, month, e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    // ✅ 월별 캐시 무효화보다 먼저 올린다: 다른 노드가 새 버전을 보면 그 버전으로 다시 읽게 된다 (MonthlyDiaryCache)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        YearMonth month = YearMonth.from(event.getDate());
+        try {
+            redisTemplate.execute(BUMP_SCRIPT, Collections.singletonList(keyOf(event.getUserId(), month)),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(ttlMs));
+        } catch (Exception e) {
+            // 올리지 못하면 클라이언트가 오래된 목록에 304 를 받을 수 있으므로 키를 지워 다음 조회에서 새로 만들게 한다
+            failures.increment();
+            log.warn("월별 버전 갱신 실패 (userId={}, month={}): {}", event.getUserId(), month, e.getMessage());
+            try {
+                redisTemplate.delete(keyOf(event.getUserId(), month));
+            } catch (Exception ignored) {
+                // Redis 가 계속 안 되면 조회 쪽도 UNKNOWN 이 되어 조건부 응답을 하지 않는다
+            }
+        }
+    }
+
+    static String keyOf(Long userId, YearMonth month) {
+        return "DV:" + userId + ":" + month;
+    }
+}
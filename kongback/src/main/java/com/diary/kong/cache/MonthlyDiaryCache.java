@@ -0,0 +1,165 @@
+package com.diary.kong.cache;
+
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.service.DiaryChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * (userId, 연월) 단위로 월별 일기 목록을 보관하는 프로세스 내 캐시.
+ * 같은 키의 동시 미스는 하나의 DB 조회로 합치고(single-flight),
+ * 일기가 바뀌면 커밋 이후 해당 월만 지운 뒤 Redis pub/sub 으로 다른 노드에도 알린다.
+ * 조회 시 월별 버전(MonthVersionStamps)을 넘기면, 그보다 오래된 버전으로 읽은 항목은 pub/sub 이 늦게 와도 쓰지 않는다.
+ */
+@Slf4j
+@Component
+public class MonthlyDiaryCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "diary-month-cache:invalidate";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LocalCache<String, VersionedMonth> months;
+    private final ConcurrentHashMap<String, Load> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public MonthlyDiaryCache(RedisTemplate<String, String> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${diary.month-cache.enabled:true}") boolean enabled,
+        @Value("${diary.month-cache.max-size:20000}") int maxSize,
+        @Value("${diary.month-cache.ttl-ms:600000}") long ttlMs) {
+        this.redisTemplate = redisTemplate;
+        this.months = new LocalCache<>(maxSize, ttlMs);
+        this.enabled = enabled;
+        registerMetrics(meterRegistry);
+    }
+
+    public List<DiaryDetailDto> get(Long userId, YearMonth month, Supplier<List<DiaryDetailDto>> loader) {
+        return get(userId, month, MonthVersionStamps.UNKNOWN, loader);
+    }
+
+    // ✅ version 은 조회 전에 읽은 월별 버전 (UNKNOWN 이면 버전 비교 없이 무효화 메시지에만 의존한다)
+    public List<DiaryDetailDto> get(Long userId, YearMonth month, long version, Supplier<List<DiaryDetailDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String key = keyOf(userId, month);
+        VersionedMonth cached = months.get(key);
+        if (cached != null && cached.version() >= version) {
+            return cached.diaries();
+        }
+
+        // ✅ 먼저 등록한 요청만 DB 를 조회하고, 나머지는 그 결과를 기다린다
+        Load mine = new Load(version, new CompletableFuture<>());
+        Load leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            if (leader.version() >= version) {
+                coalesced.increment();
+                return await(leader.future());
+            }
+            // 변경이 커밋되기 전에 시작된 조회라서 기다리지 않고 직접 읽는다 (캐시에는 넣지 않는다)
+            loads.increment();
+            return List.copyOf(loader.get());
+        }
+
+        try {
+            loads.increment();
+            List<DiaryDetailDto> loaded = List.copyOf(loader.get());
+            // 조회 도중 무효화되었다면(inFlight 에서 빠졌다면) 캐시에 넣지 않는다
+            inFlight.computeIfPresent(key, (k, current) -> {
+                if (current == mine) {
+                    months.put(key, new VersionedMonth(version, loaded));
+                }
+                return current;
+            });
+            mine.future().complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // ✅ 커밋된 변경만 반영한다 (워커처럼 트랜잭션 밖에서 발행되면 즉시 실행)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        String key = keyOf(event.getUserId(), YearMonth.from(event.getDate()));
+        invalidate(key);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, key);
+        } catch (Exception e) {
+            log.warn("월별 캐시 무효화 전파 실패 (key={}): {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // 진행 중인 조회를 먼저 떼어내야 그 결과가 무효화 이후에 캐시에 들어가지 않는다
+    void invalidate(String key) {
+        inFlight.remove(key);
+        months.invalidate(key);
+    }
+
+    @Scheduled(fixedDelayString = "${diary.month-cache.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        months.purgeExpired();
+    }
+
+    static String keyOf(Long userId, YearMonth month) {
+        return userId + ":" + month;
+    }
+
+    private static List<DiaryDetailDto> await(CompletableFuture<List<DiaryDetailDto>> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("diary.month.cache.requests", months, LocalCache::hitCount)
+            .tag("result", "hit").register(registry);
+        FunctionCounter.builder("diary.month.cache.requests", months, LocalCache::missCount)
+            .tag("result", "miss").register(registry);
+        FunctionCounter.builder("diary.month.cache.coalesced", coalesced, LongAdder::sum).register(registry);
+        FunctionCounter.builder("diary.month.cache.loads", loads, LongAdder::sum).register(registry);
+        Gauge.builder("diary.month.cache.size", months, LocalCache::size).register(registry);
+    }
+
+    private record VersionedMonth(long version, List<DiaryDetailDto> diaries) {
+    }
+
+    private record Load(long version, CompletableFuture<List<DiaryDetailDto>> future) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.diary.kong.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 일기 본문을 정규화한 해시를 키로 감정 분석 결과를 보관하는 2단 캐시.
+ * L1 은 프로세스 내 LRU/TTL 캐시, L2 는 RedisConfig 의 Redis 를 공유한다.
+ */
+@Slf4j
+@Component
+public class MoodResultCache {
+
+    private static final String KEY_PREFIX = "MOOD:";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LocalCache<String, String> localCache;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    public MoodResultCache(RedisTemplate<String, String> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${mood.cache.local.max-size:10000}") int localMaxSize,
+        @Value("${mood.cache.local.ttl-ms:3600000}") long localTtlMs,
+        @Value("${mood.cache.redis.enabled:true}") boolean redisEnabled,
+        @Value("${mood.cache.redis.ttl-ms:604800000}") long redisTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.localCache = new LocalCache<>(localMaxSize, localTtlMs);
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofMillis(redisTtlMs);
+        registerMetrics(meterRegistry);
+    }
+
+    public String get(String content) {
+        String key = keyOf(content);
+
+        String mood = localCache.get(key);
+        if (mood != null || !redisEnabled) {
+            return mood;
+        }
+
+        try {
+            // 직렬화 변경 전 JSON 으로 저장된 값도 읽을 수 있게 한다
+            mood = LegacyRedisValueMigrator.unwrapLegacyJson(redisTemplate.opsForValue().get(KEY_PREFIX + key));
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.debug("감정 캐시(Redis) 조회 실패: {}", e.getMessage());
+            return null;
+        }
+
+        if (mood == null) {
+            redisMisses.increment();
+            return null;
+        }
+
+        redisHits.increment();
+        localCache.put(key, mood);
+        return mood;
+    }
+
+    public void put(String content, String mood) {
+        String key = keyOf(content);
+        localCache.put(key, mood);
+
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, mood, redisTtl);
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.debug("감정 캐시(Redis) 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mood.cache.local.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        localCache.purgeExpired();
+    }
+
+    // ✅ 앞뒤 공백, 연속 공백, 유니코드 조합형 차이, 대소문자는 같은 일기로 본다
+    static String normalize(String content) {
+        String normalized = Normalizer.normalize(content, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(normalized.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    static String keyOf(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(content).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("mood.cache.requests", localCache, LocalCache::hitCount)
+            .tags("level", "local", "result", "hit").register(registry);
+        FunctionCounter.builder("mood.cache.requests", localCache, LocalCache::missCount)
+            .tags("level", "local", "result", "miss").register(registry);
+        FunctionCounter.builder("mood.cache.evictions", localCache, LocalCache::sizeEvictionCount)
+            .tags("level", "local", "cause", "size").register(registry);
+        FunctionCounter.builder("mood.cache.evictions", localCache, LocalCache::expirationCount)
+            .tags("level", "local", "cause", "expired").register(registry);
+        Gauge.builder("mood.cache.size", localCache, LocalCache::size)
+            .tag("level", "local").register(registry);
+
+        FunctionCounter.builder("mood.cache.requests", redisHits, LongAdder::sum)
+            .tags("level", "redis", "result", "hit").register(registry);
+        FunctionCounter.builder("mood.cache.requests", redisMisses, LongAdder::sum)
+            .tags("level", "redis", "result", "miss").register(registry);
+        FunctionCounter.builder("mood.cache.errors", redisErrors, LongAdder::sum)
+            .tag("level", "redis").register(registry);
+    }
+}
@@ -0,0 +1,177 @@
+package com.diary.kong.cache;
+
+import com.diary.kong.model.User;
+import com.diary.kong.repository.UserRepository;
+import com.diary.kong.service.UserChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * UserRepository 조회 앞에 두는 프로세스 내 near-cache (id / email 두 가지 키).
+ * 사용자 변경은 커밋 이후 Redis pub/sub 으로 모든 노드에 알려 각자의 항목을 지운다.
+ * 캐시에는 분리된 사본을 두고, 꺼낼 때도 사본을 돌려줘 호출 측 변경이 캐시에 새지 않게 한다.
+ */
+@Slf4j
+@Component
+public class UserCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "user-cache:invalidate";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final LocalCache<Long, User> byId;
+    private final LocalCache<String, User> byEmail;
+    private final boolean enabled;
+
+    public UserCache(UserRepository userRepository,
+        RedisTemplate<String, String> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${user.cache.enabled:true}") boolean enabled,
+        @Value("${user.cache.max-size:10000}") int maxSize,
+        @Value("${user.cache.ttl-ms:600000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.byId = new LocalCache<>(maxSize, ttlMs);
+        this.byEmail = new LocalCache<>(maxSize, ttlMs);
+        this.enabled = enabled;
+        registerMetrics(meterRegistry);
+    }
+
+    public Optional<User> findById(Long id) {
+        if (!enabled) {
+            return userRepository.findById(id);
+        }
+
+        User cached = byId.get(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (!enabled) {
+            return userRepository.findByEmail(email);
+        }
+
+        User cached = byEmail.get(email);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    // ✅ 존재하는 경우만 캐시로 답하고, 없다는 결과는 캐시하지 않는다 (가입 직후 다른 노드의 오판 방지)
+    public boolean existsByEmail(String email) {
+        if (enabled && byEmail.get(email) != null) {
+            return true;
+        }
+        return userRepository.existsByEmail(email);
+    }
+
+    // ✅ 커밋된 변경만 전파한다 (트랜잭션 밖에서 발행되면 즉시 실행)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUserId(), event.getEmail());
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, encode(event.getUserId(), event.getEmail()));
+        } catch (Exception e) {
+            // 전파에 실패해도 다른 노드의 항목은 TTL 이 지나면 사라진다
+            log.warn("사용자 캐시 무효화 전파 실패 (userId={}): {}", event.getUserId(), e.getMessage());
+        }
+    }
+
+    // ✅ 다른 노드(자기 자신 포함)가 보낸 무효화 메시지
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String id = body.substring(0, separator);
+        evict(id.isEmpty() ? null : Long.valueOf(id), body.substring(separator + 1));
+    }
+
+    public void evict(Long id, String email) {
+        if (id != null) {
+            User cached = byId.remove(id);
+            // id 로만 알려진 경우에도 예전 email 키를 함께 지운다
+            if (cached != null) {
+                byEmail.invalidate(cached.getEmail());
+            }
+        }
+        if (email != null && !email.isEmpty()) {
+            User cached = byEmail.remove(email);
+            if (cached != null) {
+                byId.invalidate(cached.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.cache.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        byId.purgeExpired();
+        byEmail.purgeExpired();
+    }
+
+    private void put(User user) {
+        User snapshot = copyOf(user);
+        byId.put(snapshot.getId(), snapshot);
+        byEmail.put(snapshot.getEmail(), snapshot);
+    }
+
+    // id 는 ':' 를 포함하지 않으므로 첫 ':' 를 구분자로 쓴다 (email 에 ':' 가 있어도 안전)
+    static String encode(Long id, String email) {
+        return (id == null ? "" : id.toString()) + ":" + (email == null ? "" : email);
+    }
+
+    static User copyOf(User user) {
+        return User.builder()
+            .id(user.getId())
+            .email(user.getEmail())
+            .password(user.getPassword())
+            .nickname(user.getNickname())
+            .createdAt(user.getCreatedAt())
+            .build();
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("user.cache.requests", byId, LocalCache::hitCount)
+            .tags("key", "id", "result", "hit").register(registry);
+        FunctionCounter.builder("user.cache.requests", byId, LocalCache::missCount)
+            .tags("key", "id", "result", "miss").register(registry);
+        FunctionCounter.builder("user.cache.requests", byEmail, LocalCache::hitCount)
+            .tags("key", "email", "result", "hit").register(registry);
+        FunctionCounter.builder("user.cache.requests", byEmail, LocalCache::missCount)
+            .tags("key", "email", "result", "miss").register(registry);
+        Gauge.builder("user.cache.hit.ratio", this, UserCache::hitRatio).register(registry);
+        Gauge.builder("user.cache.size", byId, LocalCache::size).tag("key", "id").register(registry);
+        Gauge.builder("user.cache.size", byEmail, LocalCache::size).tag("key", "email").register(registry);
+    }
+
+    double hitRatio() {
+        long hits = byId.hitCount() + byEmail.hitCount();
+        long total = hits + byId.missCount() + byEmail.missCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,39 @@
+package com.diary.kong.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 지표에 붙이는 endpoint 태그: http.server.requests 의 uri 태그와 같은 매핑 패턴 (/api/v1/diaries/user/{userId})
+ * 이라서 같은 이름으로 묶어 엔드포인트별 p99 를 나눠 볼 수 있다. 경로 변수가 그대로 들어가지 않으므로 태그 수가 늘지 않는다.
+ */
+public final class EndpointTag {
+
+    public static final String KEY = "endpoint";
+
+    // ✅ 요청 밖(감정 분석 워커, 스케줄러, 배치 스레드)에서 실행된 경우
+    public static final String BACKGROUND = "background";
+
+    // ✅ 핸들러 매핑 전이거나 매핑되지 않은 요청 (404, 필터에서 끝난 요청)
+    public static final String UNMAPPED = "UNKNOWN";
+
+    private EndpointTag() {
+    }
+
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return BACKGROUND;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? UNMAPPED : pattern.toString();
+    }
+
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMAPPED : pattern.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package com.diary.kong.common;
+
+import lombok.Getter;
+
+// ✅ 처리 한도를 넘은 요청: GlobalExceptionHandler 가 HTTP 429 + Retry-After 로 응답한다
+@Getter
+public class TooManyRequestsException extends CustomException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(429, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
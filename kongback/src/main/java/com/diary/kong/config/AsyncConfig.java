@@ -0,0 +1,39 @@
+package com.diary.kong.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${mood.async.workers:4}")
+    private int workers;
+
+    @Value("${mood.async.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value(VirtualThreads.ENABLED)
+    private boolean virtualThreads;
+
+    // ✅ 감정 분석 전용 워커 풀: 큐가 가득 차면 거절하고, 거절된 일기는 스위퍼가 다시 가져간다
+    //    가상 스레드 모드에서도 풀 크기/큐 제한은 그대로 두고 스레드만 가상 스레드로 만든다 (LLM 대기 중 캐리어를 놓아준다)
+    @Bean(name = "moodAnalysisExecutor")
+    public ThreadPoolTaskExecutor moodAnalysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mood-worker-");
+        if (virtualThreads) {
+            executor.setThreadFactory(VirtualThreads.factory(true, "mood-worker-"));
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
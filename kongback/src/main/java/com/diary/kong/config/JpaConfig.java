@@ -0,0 +1,43 @@
+package com.diary.kong.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class JpaConfig {
+
+    // ✅ Hibernate 의 중첩 연결 요청(id 블록 할당)을 본 풀과 설정이 같은 작은 예비 풀로 보낸다. 평소에는 연결을 들고 있지 않는다
+    @Bean
+    public HibernatePropertiesCustomizer reserveConnectionProvider(DataSource dataSource,
+        @Value("${diary.id-generator.reserve-connections:2}") int reserveConnections) {
+        return properties -> {
+            HikariDataSource main = unwrapHikari(dataSource);
+            if (main == null || reserveConnections <= 0) {
+                return;
+            }
+            HikariConfig config = new HikariConfig();
+            main.copyStateTo(config);
+            config.setPoolName((main.getPoolName() == null ? "HikariPool" : main.getPoolName()) + "-reserve");
+            config.setMaximumPoolSize(reserveConnections);
+            config.setMinimumIdle(0);
+            properties.put(AvailableSettings.CONNECTION_PROVIDER,
+                new ReserveConnectionProvider(dataSource, new HikariDataSource(config)));
+        };
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
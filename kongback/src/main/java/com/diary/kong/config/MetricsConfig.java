@@ -0,0 +1,36 @@
+package com.diary.kong.config;
+
+import com.diary.kong.common.EndpointTag;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 핫패스 지표 설정. 히스토그램 버킷과 공통 태그는 application.yml 의 management.metrics 에서 켠다.
+ * Hikari 풀(hikaricp.connections.*)과 Tomcat 스레드(tomcat.threads.*) 지표는 자동 구성된다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // ✅ spring.data.repository.invocations 에 endpoint 태그를 더해 쿼리 지연을 엔드포인트별로 나눠 본다
+    // (리스너는 리포지토리를 호출한 스레드에서 실행되므로 현재 요청을 읽을 수 있다)
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+            .and(EndpointTag.KEY, EndpointTag.current());
+    }
+
+    // ✅ Lettuce 명령별 지연(lettuce.command.completion / firstresponse)을 히스토그램으로 남긴다
+    // 커넥션 풀을 쓰므로 local 주소 태그는 끈 채로 둔다 (커넥션마다 시계열이 생긴다)
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions() {
+        return MicrometerOptions.builder()
+            .histogram(true)
+            .localDistinction(false)
+            .build();
+    }
+}
@@ -1,15 +1,24 @@
 package com.diary.kong.config;
 
+import com.diary.kong.cache.MonthlyDiaryCache;
+import com.diary.kong.cache.UserCache;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
@@ -19,22 +28,81 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int redisPort;
 
+    @Value("${spring.data.redis.timeout:10000}")
+    private long commandTimeoutMs;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:16}")
+    private int poolMaxActive;
+
+    @Value("${spring.data.redis.lettuce.pool.max-idle:16}")
+    private int poolMaxIdle;
+
+    @Value("${spring.data.redis.lettuce.pool.min-idle:2}")
+    private int poolMinIdle;
+
+    @Value("${spring.data.redis.lettuce.pool.max-wait:2000ms}")
+    private Duration poolMaxWait;
+
+    // Boot 의 spring.data.redis.lettuce 에는 없는 설정이라 앱 설정(redis.*)으로 둔다
+    @Value("${redis.share-native-connection:false}")
+    private boolean shareNativeConnection;
+
+    // ✅ commons-pool2 기반 Lettuce 커넥션 풀 (풀 크기는 application.yml 에서 조정)
+    // ClientResources 는 스프링 부트가 만든 것을 써야 Lettuce 명령 지표(lettuce.command.*)가 등록된다
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public RedisConnectionFactory redisConnectionFactory(ClientResources clientResources) {
         RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration(redisHost, redisPort);
-        return new LettuceConnectionFactory(redisConfig);
+
+        GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(poolMaxActive);
+        poolConfig.setMaxIdle(poolMaxIdle);
+        poolConfig.setMinIdle(poolMinIdle);
+        poolConfig.setMaxWait(poolMaxWait);
+        // JMX 로 노출된 풀 상태를 CommonsObjectPool2Metrics 가 읽어 간다 (name 태그 = redis)
+        poolConfig.setJmxEnabled(true);
+        poolConfig.setJmxNamePrefix("redis");
+
+        LettucePoolingClientConfiguration clientConfig = LettucePoolingClientConfiguration.builder()
+            .poolConfig(poolConfig)
+            .clientResources(clientResources)
+            .commandTimeout(Duration.ofMillis(commandTimeoutMs))
+            .build();
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(redisConfig, clientConfig);
+        // false 이면 명령마다 풀에서 커넥션을 빌려 쓰므로 풀 크기가 실제 동시성 상한이 된다
+        factory.setShareNativeConnection(shareNativeConnection);
+        return factory;
     }
 
+    // ✅ 토큰/감정 라벨은 평문 문자열이므로 JSON 직렬화 없이 그대로 저장한다
+    // 트랜잭션 지원은 끈다: 켜 두면 @Transactional 안에서 스레드마다 전용 커넥션을 붙잡는다
     @Bean
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(connectionFactory);
-        redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
-        redisTemplate.setEnableTransactionSupport(true);
+        redisTemplate.setKeySerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setValueSerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setHashKeySerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setHashValueSerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setEnableTransactionSupport(false);
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
-}
\ No newline at end of file
+
+    // ✅ 풀 포화 지표: commons.pool2.num.active / num.idle / num.waiters / mean.borrow.wait 등
+    @Bean
+    public CommonsObjectPool2Metrics redisPoolMetrics() {
+        return new CommonsObjectPool2Metrics();
+    }
+
+    // ✅ 노드 간 캐시 무효화 메시지 구독 (pub/sub 은 풀과 별개의 전용 커넥션을 쓴다)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+        UserCache userCache, MonthlyDiaryCache monthlyDiaryCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(userCache, new ChannelTopic(UserCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(monthlyDiaryCache, new ChannelTopic(MonthlyDiaryCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,55 @@
+package com.diary.kong.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미 연결을 쥔 스레드가 Hibernate 에 연결을 하나 더 요청하면 본 풀 대신 예비 풀에서 준다.
+ * Diary 의 TableGenerator 는 100개마다 별도 연결(격리 작업)로 id_generator 를 갱신하는데, 그동안 다른 요청 스레드들은
+ * 트랜잭션 연결을 쥔 채 같은 최적화기 락을 기다린다. 본 풀이 모두 그 스레드들에게 가 있으면 락을 쥔 스레드가
+ * 연결을 얻지 못해 connection-timeout 까지 모두 멈춘다. 중첩 요청을 예비 풀로 보내면 이 순환이 생기지 않는다.
+ * 연결은 받은 스레드가 아닌 곳에서 닫힐 수도 있으므로, 닫을 때는 그 연결을 받은 스레드의 개수를 줄인다.
+ */
+public class ReserveConnectionProvider extends DatasourceConnectionProviderImpl {
+
+    private final HikariDataSource reserve;
+    // 스레드별로 쥐고 있는 연결 수, 그리고 연결마다 그것을 받은 스레드의 개수
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+    private final Map<Connection, AtomicInteger> owners = new ConcurrentHashMap<>();
+
+    public ReserveConnectionProvider(DataSource dataSource, HikariDataSource reserve) {
+        setDataSource(dataSource);
+        this.reserve = reserve;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger count = held.get();
+        Connection connection = count.get() > 0 ? reserve.getConnection() : super.getConnection();
+        count.incrementAndGet();
+        owners.put(connection, count);
+        return connection;
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        AtomicInteger count = owners.remove(connection);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+        super.closeConnection(connection);
+    }
+
+    @Override
+    public void stop() {
+        reserve.close();
+        super.stop();
+    }
+}
@@ -1,6 +1,9 @@
 package com.diary.kong.config;
 
 import com.diary.kong.security.JwtAuthenticationFilter;
+import com.diary.kong.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,10 +20,17 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // ✅ 인증 없이 허용하는 경로 (JwtAuthenticationFilter 도 이 경로에서는 토큰을 검사하지 않는다)
+    public static final String[] PERMIT_ALL_PATTERNS = {
+        "/", "/api/v1/user/signup", "/api/v1/auth/login", "/swagger-ui/**", "/v3/api-docs/**", "/api/v1/auth/refresh"
+    };
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -29,10 +39,15 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf().disable()
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/api/v1/user/signup", "/api/v1/auth/login", "/swagger-ui/**", "/v3/api-docs/**", "/api/v1/auth/refresh").permitAll()
+                // ✅ 스트리밍 내보내기가 끝난 뒤의 ASYNC 디스패치는 토큰 없이 다시 필터를 탄다. 원래 요청에서 이미 인가했다
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers(PERMIT_ALL_PATTERNS).permitAll()
+                // ✅ 수집용 health / prometheus 는 management.server.port (내부 포트) 요청에만 연다
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);  // ✅ 필터 등록
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)  // ✅ 필터 등록
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);  // ✅ 로그인/회원가입/재발급 IP 단위 제한
 
         return http.build();
     }
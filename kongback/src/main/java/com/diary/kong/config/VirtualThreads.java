@@ -0,0 +1,41 @@
+package com.diary.kong.config;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 스레드 실행 모드 (spring.threads.virtual.enabled) 에서 직접 만든 실행기들이 쓸 스레드 팩토리.
+ * Tomcat 요청 스레드와 @Async/스케줄러는 Spring Boot 가 같은 속성으로 전환하고,
+ * 감정 분석 워커 / LLM 벌크헤드 / 배치 분류기는 여기서 팩토리만 바꿔 동시성 제한은 그대로 둔다.
+ */
+public final class VirtualThreads {
+
+    public static final String ENABLED = "${spring.threads.virtual.enabled:false}";
+
+    private VirtualThreads() {
+    }
+
+    // ✅ 켜져 있으면 이름 붙은 가상 스레드, 꺼져 있으면 기존과 같은 데몬 플랫폼 스레드
+    public static ThreadFactory factory(boolean virtual, String prefix) {
+        if (virtual) {
+            requireSupported();
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ✅ Java 21 미만에서는 Spring Boot 가 속성을 조용히 무시하므로, 설정 실수를 기동 시점에 드러낸다
+    public static void requireSupported() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true 는 Java 21 이상에서만 동작합니다. (현재 "
+                + Runtime.version() + ")");
+        }
+    }
+}
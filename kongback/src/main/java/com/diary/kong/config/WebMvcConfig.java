@@ -1,6 +1,10 @@
 package com.diary.kong.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,6 +13,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableWebMvc
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    @Value("${diary.export.request-timeout-ms:600000}")
+    private long asyncRequestTimeoutMs;
+
+    @Value("${diary.export.max-concurrent:4}")
+    private int exportMaxConcurrent;
+
+    @Value(VirtualThreads.ENABLED)
+    private boolean virtualThreads;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -18,4 +31,28 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
-}
\ No newline at end of file
+
+    // ✅ @EnableWebMvc 가 WebMvcAutoConfiguration 을 끄므로 spring.mvc.async.* 는 읽히지 않는다. 여기서 직접 정한다
+    //    (기본값은 Tomcat 의 30초 제한과 상한 없는 SimpleAsyncTaskExecutor)
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+
+    // ✅ StreamingResponseBody 를 쓰는 스레드 풀: 비동기 응답은 내보내기뿐이고 동시 내보내기 수가 이미 제한되므로 같은 크기로 둔다
+    //    (슬롯을 돌려준 스레드가 풀로 돌아오기 전에 다음 내보내기가 들어올 수 있어 대기열을 조금 둔다)
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportMaxConcurrent);
+        executor.setMaxPoolSize(exportMaxConcurrent);
+        executor.setQueueCapacity(exportMaxConcurrent);
+        executor.setThreadNamePrefix("mvc-async-");
+        if (virtualThreads) {
+            executor.setThreadFactory(VirtualThreads.factory(true, "mvc-async-"));
+        }
+        executor.initialize();
+        return executor;
+    }
+}
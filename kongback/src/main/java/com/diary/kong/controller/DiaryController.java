@@ -1,12 +1,36 @@
 package com.diary.kong.controller;
 
+import com.diary.kong.cache.MonthVersionStamps;
+import com.diary.kong.common.CustomException;
+import com.diary.kong.dto.DiaryPageDto;
 import com.diary.kong.dto.DiarySaveDto;
 import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.dto.DiaryMoodDto;
+import com.diary.kong.dto.DiaryImportProgressDto;
+import com.diary.kong.dto.DiarySearchPageDto;
+import com.diary.kong.dto.MoodStatsDto;
+import com.diary.kong.service.DiaryExportService;
+import com.diary.kong.service.DiaryImportService;
+import com.diary.kong.service.DiarySearchService;
 import com.diary.kong.service.DiaryService;
+import com.diary.kong.service.MoodStatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -14,7 +38,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DiaryController {
 
+    // 사용자별 응답이므로 공유 캐시에는 남기지 않고, 단말 캐시는 매번 ETag 로 재검증하게 한다
+    private static final CacheControl MONTH_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final DiaryService diaryService;
+    private final DiaryExportService diaryExportService;
+    private final DiaryImportService diaryImportService;
+    private final MoodStatService moodStatService;
+    private final DiarySearchService diarySearchService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/create")
     public ResponseEntity<DiaryDetailDto> createDiary(@RequestParam Long userId, @RequestBody DiarySaveDto diarySaveDto) {
@@ -22,14 +54,111 @@ public class DiaryController {
         return ResponseEntity.ok(response);
     }
 
+    // ✅ If-None-Match 가 월별 버전과 같으면 목록 조회와 직렬화 없이 304 로 끝낸다
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<DiaryDetailDto>> getDiariesByMonth(
         @PathVariable Long userId,
-        @RequestParam String yearMonth) {
-        List<DiaryDetailDto> diaries = diaryService.getDiariesByMonth(userId, yearMonth);
-        return ResponseEntity.ok(diaries);
+        @RequestParam String yearMonth,
+        WebRequest webRequest) {
+        long version = diaryService.getMonthVersion(userId, yearMonth);
+        if (version == MonthVersionStamps.UNKNOWN) {
+            return ResponseEntity.ok(diaryService.getDiariesByMonth(userId, yearMonth));
+        }
+
+        // checkNotModified 가 ETag 헤더를 쓰고, 일치하면 상태를 304 로 바꾼다.
+        // 같은 버전이 JSON / CBOR / gzip 등 여러 표현으로 나가므로 약한 ETag 를 쓴다 (Tomcat 은 강한 ETag 응답을 압축하지 않는다)
+        // Last-Modified 는 보내지 않는다: 버전은 ms 인데 HTTP 날짜는 초 단위라, 같은 초 안의 변경에 오래된 목록으로 304 가 난다
+        if (webRequest.checkNotModified("W/\"" + version + "\"")) {
+            return null;
+        }
+        List<DiaryDetailDto> diaries = diaryService.getDiariesByMonth(userId, yearMonth, version);
+        return ResponseEntity.ok().cacheControl(MONTH_CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT).body(diaries);
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<DiaryPageDto> getDiaryPage(
+        @PathVariable Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        diaryService.verifyOwnership(userId);
+        return ResponseEntity.ok(diaryService.getDiaryPage(userId, cursor, size));
+    }
+
+    // ✅ 전체 일기 내보내기: 응답 스트림에 바로 쓰므로 일기 수와 무관하게 메모리 사용량이 일정하다
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportDiaries(
+        @PathVariable Long userId,
+        @RequestParam(defaultValue = "ndjson") String format) {
+        diaryService.verifyOwnership(userId);
+        DiaryExportService.Format exportFormat;
+        try {
+            exportFormat = DiaryExportService.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(999, "지원하지 않는 형식입니다. (ndjson, csv)");
+        }
+
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename("diaries-" + userId + "." + exportFormat.getExtension())
+            .build();
+
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(diaryExportService.open(userId, exportFormat));
+    }
+
+    // ✅ 일괄 가져오기: 본문은 DiarySaveDto 의 NDJSON(또는 JSON 배열) 스트림.
+    // 요청 스레드에서 본문을 읽으며 배치가 커밋될 때마다 진행 상황을 NDJSON 한 줄로 바로 내려준다
+    @PostMapping("/user/{userId}/import")
+    public void importDiaries(@PathVariable Long userId, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        diaryService.verifyOwnership(userId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        DiaryImportProgressDto result = diaryImportService.importDiaries(userId, request.getInputStream(),
+            progress -> writeLine(out, progress));
+        writeLine(out, result);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ✅ 본문 검색: 사용자별 bigram 색인으로 후보를 찾고 점수순으로 페이지를 나눈다
+    @GetMapping("/user/{userId}/search")
+    public ResponseEntity<DiarySearchPageDto> searchDiaries(
+        @PathVariable Long userId,
+        @RequestParam String q,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size) {
+        diaryService.verifyOwnership(userId);
+        return ResponseEntity.ok(diarySearchService.search(userId, q, page, size));
     }
 
+    // ✅ 연간/월별 감정 분포: 일기를 GROUP BY 하지 않고 미리 센 카운터(mood_stat)만 읽는다
+    @GetMapping("/user/{userId}/mood-stats")
+    public ResponseEntity<MoodStatsDto> getMoodStats(
+        @PathVariable Long userId,
+        @RequestParam(required = false) Integer year) {
+        diaryService.verifyOwnership(userId);
+        int statYear = year == null ? LocalDate.now().getYear() : year;
+        if (statYear < 1 || statYear > 9999) {
+            throw new CustomException(999, "연도가 올바르지 않습니다.");
+        }
+        return ResponseEntity.ok(moodStatService.getYearStats(userId, statYear));
+    }
+
+    @GetMapping("/mood/{diaryId}")
+    public ResponseEntity<DiaryMoodDto> getMoodStatus(@PathVariable Long diaryId) {
+        return ResponseEntity.ok(diaryService.getMoodStatus(diaryId));
+    }
 
     @PutMapping("/update/{diaryId}")
     public ResponseEntity<DiaryDetailDto> updateDiary(@PathVariable Long diaryId, @RequestBody DiarySaveDto diarySaveDto) {
@@ -0,0 +1,33 @@
+package com.diary.kong.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서: 마지막으로 내려준 일기의 (date, id).
+ * 클라이언트에는 내용을 해석할 필요 없는 Base64url 문자열로 내려준다.
+ */
+public record DiaryCursor(LocalDate date, Long id) {
+
+    // ✅ 첫 페이지: 어떤 일기보다도 뒤에 있는 위치 (MySQL DATE 최댓값)
+    public static final DiaryCursor START = new DiaryCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    public static DiaryCursor of(DiaryDetailDto diary) {
+        return new DiaryCursor(LocalDate.parse(diary.getDate()), diary.getId());
+    }
+
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DiaryCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new DiaryCursor(LocalDate.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+    }
+}
@@ -1,9 +1,13 @@
 package com.diary.kong.dto;
 
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Getter
@@ -16,4 +20,29 @@ public class DiaryDetailDto {
 
     private String date;
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    private MoodStatus moodStatus;
+
+    // ✅ JPQL 생성자 프로젝션용: 영속성 컨텍스트를 거치지 않고 컬럼 값에서 바로 만든다
+    public DiaryDetailDto(Long id, String content, Mood mood, LocalDate date, LocalDateTime createdAt,
+        MoodStatus moodStatus) {
+        this(id, content, moodLabelOf(mood), date.toString(), createdAt, moodStatus);
+    }
+
+    // fromEntity
+    public static DiaryDetailDto from(Diary diary) {
+        return DiaryDetailDto.builder()
+            .id(diary.getId())
+            .content(diary.getContent())
+            .mood(moodLabelOf(diary.getMood()))
+            .moodStatus(diary.getMoodStatus())
+            .date(diary.getDate().toString())
+            .createdAt(diary.getCreatedAt())
+            .build();
+    }
+
+    // ✅ 응답 형식은 그대로 유지: 분석 전이면 "PENDING", 이후에는 라벨 이름 ("yyyy-MM-dd" 날짜와 함께 문자열로 내려준다)
+    public static String moodLabelOf(Mood mood) {
+        return mood != null ? mood.name() : MoodStatus.PENDING.name();
+    }
+}
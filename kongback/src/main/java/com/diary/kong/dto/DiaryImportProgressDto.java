@@ -0,0 +1,20 @@
+package com.diary.kong.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+// ✅ 일괄 가져오기 진행 상황: 배치가 커밋될 때마다 한 줄씩 내려주고, 마지막 줄은 done = true
+@Getter
+@Builder
+@AllArgsConstructor
+public class DiaryImportProgressDto {
+    private long imported;
+    private long skipped;
+    private long pendingMood;
+    private int batches;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private boolean done;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.diary.kong.dto;
+
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class DiaryMoodDto {
+    private Long id;
+    private String mood;
+    private MoodStatus moodStatus;
+    private int attempts;
+
+    // ✅ JPQL 생성자 프로젝션용
+    public DiaryMoodDto(Long id, Mood mood, MoodStatus moodStatus, int attempts) {
+        this(id, DiaryDetailDto.moodLabelOf(mood), moodStatus, attempts);
+    }
+}
@@ -0,0 +1,16 @@
+package com.diary.kong.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// ✅ 키셋 페이지: 다음 페이지가 없으면 nextCursor 는 null
+@Getter
+@Builder
+@AllArgsConstructor
+public class DiaryPageDto {
+    private List<DiaryDetailDto> items;
+    private String nextCursor;
+}
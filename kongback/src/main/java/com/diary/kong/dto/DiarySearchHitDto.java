@@ -0,0 +1,13 @@
+package com.diary.kong.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class DiarySearchHitDto {
+    private DiaryDetailDto diary;
+    private double score;
+}
@@ -0,0 +1,19 @@
+package com.diary.kong.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// ✅ 검색 결과 페이지: 점수순. truncated 이면 후보가 너무 많아 최근 일기 일부만 순위를 매겼다는 뜻
+@Getter
+@Builder
+@AllArgsConstructor
+public class DiarySearchPageDto {
+    private List<DiarySearchHitDto> items;
+    private long total;
+    private int page;
+    private int size;
+    private boolean truncated;
+}
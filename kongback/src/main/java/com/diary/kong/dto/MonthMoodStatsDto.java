@@ -0,0 +1,17 @@
+package com.diary.kong.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+// ✅ 한 달의 감정 분포: counts 는 감정 라벨 -> 일기 수 (Mood 선언 순서, 0 인 감정은 생략)
+@Getter
+@Builder
+@AllArgsConstructor
+public class MonthMoodStatsDto {
+    private String yearMonth;  // yyyy-MM
+    private long total;
+    private Map<String, Long> counts;
+}
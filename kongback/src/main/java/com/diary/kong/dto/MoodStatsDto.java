@@ -0,0 +1,19 @@
+package com.diary.kong.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+// ✅ 연간 감정 분포와 월별 분포 (일기가 있는 달만)
+@Getter
+@Builder
+@AllArgsConstructor
+public class MoodStatsDto {
+    private int year;
+    private long total;
+    private Map<String, Long> counts;
+    private List<MonthMoodStatsDto> months;
+}
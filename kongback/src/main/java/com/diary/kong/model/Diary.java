@@ -6,10 +6,17 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_diary_user_date", columnList = "user_id, date"),  // ✅ 월별 조회는 (user_id, date) 범위 스캔
+    @Index(name = "idx_diary_search_indexed", columnList = "search_indexed, id"),
+    @Index(name = "idx_diary_mood_candidates", columnList = "mood_status, mood_next_attempt_at, id")  // ✅ 감정 분석 스위퍼 후보 조회
+})
 @Getter
 @Setter
 @Builder
@@ -17,19 +24,36 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Diary {
 
+    // ✅ IDENTITY 는 insert 배치를 막으므로 id_generator 테이블에서 100개씩 미리 할당받는다 (pooled)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "diary_id")
+    @TableGenerator(name = "diary_id", table = "id_generator", pkColumnName = "name",
+        valueColumnName = "next_val", pkColumnValue = "diary", allocationSize = 100)
     private Long id;
 
     private String content;
 
-    private String mood;  // ✅ 기분 상태
+    private Mood mood;  // ✅ 기분 상태 (smallint 코드, 분석 전에는 null)
 
-    private String date;  // ✅ 사용자가 지정한 일기 날짜 (String 형식)
+    @Enumerated(EnumType.STRING)
+    private MoodStatus moodStatus;  // ✅ 비동기 감정 분석 진행 상태
+
+    private int moodAttempts;  // ✅ 감정 분석 시도 횟수
+
+    private LocalDateTime moodNextAttemptAt;  // ✅ 다음 분석 시도 가능 시각 (처리 중에는 임대 만료 시각)
+
+    @Column(nullable = false)
+    private LocalDate date;  // ✅ 사용자가 지정한 일기 날짜
 
     private LocalDateTime createdAt;  // ✅ 데이터 생성 시간
 
+    // ✅ 검색 색인 반영 여부: 새 일기는 저장할 때 함께 색인하므로 true, 색인 도입 전 일기만 false 로 남아 backfill 대상이 된다
+    @Builder.Default
+    @ColumnDefault("true")
+    @Column(nullable = false)
+    private boolean searchIndexed = true;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
-}
\ No newline at end of file
+}
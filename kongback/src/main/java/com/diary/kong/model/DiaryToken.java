@@ -0,0 +1,26 @@
+package com.diary.kong.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일기 본문 검색용 사용자별 bigram 역색인 (service.BigramTokenizer).
+ * 일기 작성/수정/삭제/가져오기 트랜잭션에서 함께 갱신된다.
+ */
+@Entity
+@Table(name = "diary_token", indexes = @Index(name = "idx_diary_token_diary", columnList = "diary_id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiaryToken {
+
+    @EmbeddedId
+    private DiaryTokenId id;
+
+    private short tf;  // ✅ 일기 안에서 토큰이 나온 횟수
+}
@@ -0,0 +1,30 @@
+package com.diary.kong.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// ✅ 역색인 키: (사용자, 토큰, 일기). 사용자별 토큰 범위를 PK 로 바로 찾는다
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DiaryTokenId implements Serializable {
+
+    public static final int MAX_TOKEN_LENGTH = 8;  // 보조 평면 문자 두 개(UTF-16 4자)도 들어가는 길이 (V5 의 VARCHAR(8))
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(length = MAX_TOKEN_LENGTH)
+    private String token;
+
+    @Column(name = "diary_id")
+    private Long diaryId;
+}
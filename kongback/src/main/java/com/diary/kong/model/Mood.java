@@ -0,0 +1,58 @@
+package com.diary.kong.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// ✅ 감정 라벨. DB 에는 이름 대신 고정 코드(smallint)로 저장하므로 순서를 바꿔도 안전하다
+public enum Mood {
+    HAPPY(1),
+    SAD(2),
+    ANGRY(3),
+    NEUTRAL(4),
+    EXCITED(5),
+    CALM(6),
+    ANXIOUS(7),
+    TIRED(8),
+    BORED(9),
+    CONFUSED(10),
+    HOPEFUL(11),
+    LONELY(12),
+    SURPRISED(13);
+
+    private static final Map<Short, Mood> BY_CODE = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(Mood::getCode, Function.identity()));
+
+    private final short code;
+
+    Mood(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static Mood fromCode(short code) {
+        Mood mood = BY_CODE.get(code);
+        if (mood == null) {
+            throw new IllegalArgumentException("Unknown mood code: " + code);
+        }
+        return mood;
+    }
+
+    // ✅ 모델 응답처럼 신뢰할 수 없는 문자열을 라벨로 해석 (공백/대소문자 무시)
+    public static Optional<Mood> fromLabel(String label) {
+        if (label == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(label.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
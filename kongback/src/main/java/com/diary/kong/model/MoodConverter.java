@@ -0,0 +1,19 @@
+package com.diary.kong.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// ✅ Mood <-> smallint 코드 변환 (Diary.mood 에 자동 적용)
+@Converter(autoApply = true)
+public class MoodConverter implements AttributeConverter<Mood, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Mood mood) {
+        return mood == null ? null : mood.getCode();
+    }
+
+    @Override
+    public Mood convertToEntityAttribute(Short code) {
+        return code == null ? null : Mood.fromCode(code);
+    }
+}
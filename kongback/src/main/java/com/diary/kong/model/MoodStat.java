@@ -0,0 +1,35 @@
+package com.diary.kong.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별, 월별 감정 분포 카운터.
+ * 일기 작성/삭제와 감정 분석 완료 시 같은 트랜잭션에서 증감하고, MoodStatRebuildJob 이 일기 테이블 기준으로 검증한다.
+ * 분석이 끝난(COMPLETED) 일기만 센다. PENDING 은 감정이 없고, FAILED 의 대체 감정은 실제 분포가 아니다.
+ */
+@Entity
+@Table(name = "mood_stat")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoodStat {
+
+    @EmbeddedId
+    private MoodStatId id;
+
+    @Column(name = "diary_count", nullable = false)
+    private long count;
+
+    // ✅ JPQL 집계 프로젝션용: year(d.date), month(d.date) 를 월의 1일로 묶는다
+    public MoodStat(Long userId, Integer year, Integer month, Mood mood, Long count) {
+        this(new MoodStatId(userId, LocalDate.of(year, month, 1), mood), count);
+    }
+}
@@ -0,0 +1,7 @@
+package com.diary.kong.model;
+
+public enum MoodStatus {
+    PENDING,    // 감정 분석 대기 중
+    COMPLETED,  // 감정 분석 완료
+    FAILED      // 재시도 횟수 초과로 분석 실패
+}
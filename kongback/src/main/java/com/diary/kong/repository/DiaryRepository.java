@@ -1,12 +1,107 @@
 package com.diary.kong.repository;
 
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.dto.DiaryMoodDto;
 import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStat;
+import com.diary.kong.model.MoodStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface DiaryRepository extends JpaRepository<Diary, Long> {
-    List<Diary> findByUserId(Long userId);
+    // ✅ 월별 조회: idx_diary_user_date (user_id, date) 범위 스캔, 인덱스 순서 그대로 날짜순 반환
+    // (파생 쿼리 findByUserIdAndDateBetween 은 users 를 left join 해 u.id 로 거르므로 인덱스를 못 탄다)
+    // 조회 전용 프로젝션이라 엔티티/User 프록시/스냅샷 없이 필요한 컬럼만 DTO 로 바로 읽는다
+    @Transactional(readOnly = true)
+    @Query("select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) " +
+        "from Diary d where d.user.id = :userId and d.date between :startDate and :endDate order by d.date")
+    List<DiaryDetailDto> findMonthView(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
 
-    List<Diary> findByUserIdAndDateBetween(Long userId, String startDate, String endDate);  // ✅ 월별 조회를 위한 메서드 수정
+    // ✅ 키셋 페이지: (date, id) 가 커서보다 앞선 일기를 최신순으로. 인덱스 (user_id, date [, id]) 를 역순으로 읽고 limit 에서 멈춘다
+    @Transactional(readOnly = true)
+    @Query("select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) " +
+        "from Diary d where d.user.id = :userId and (d.date < :date or (d.date = :date and d.id < :id)) " +
+        "order by d.date desc, d.id desc")
+    List<DiaryDetailDto> findPageBefore(@Param("userId") Long userId, @Param("date") LocalDate date,
+        @Param("id") Long id, Pageable pageable);
+
+    // ✅ 내보내기용 키셋 페이지: (date, id) 가 커서보다 뒤인 일기를 오래된 순으로 (findPageBefore 의 반대 방향)
+    @Transactional(readOnly = true)
+    @Query("select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) " +
+        "from Diary d where d.user.id = :userId and (d.date > :date or (d.date = :date and d.id > :id)) " +
+        "order by d.date, d.id")
+    List<DiaryDetailDto> findPageAfter(@Param("userId") Long userId, @Param("date") LocalDate date,
+        @Param("id") Long id, Pageable pageable);
+
+    // ✅ 검색 후보 일기를 한 번에 읽는다 (다른 사용자의 id 가 섞여도 걸러진다)
+    @Transactional(readOnly = true)
+    @Query("select new com.diary.kong.dto.DiaryDetailDto(d.id, d.content, d.mood, d.date, d.createdAt, d.moodStatus) " +
+        "from Diary d where d.user.id = :userId and d.id in :ids")
+    List<DiaryDetailDto> findViewsByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // ✅ 검색 색인이 없는 일기 (색인 도입 전 데이터 backfill 용, idx_diary_search_indexed 범위 스캔)
+    @Query("select d.id from Diary d where d.searchIndexed = false and d.id > :afterId order by d.id")
+    List<Long> findUnindexedIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ✅ 감정 통계 재집계용: 사용자의 분석 완료 일기를 (연, 월, 감정) 별로 센다
+    @Query("select new com.diary.kong.model.MoodStat(d.user.id, year(d.date), month(d.date), d.mood, count(d)) " +
+        "from Diary d where d.user.id = :userId and d.moodStatus = com.diary.kong.model.MoodStatus.COMPLETED " +
+        "and d.mood is not null group by d.user.id, year(d.date), month(d.date), d.mood")
+    List<MoodStat> countMoodsByUserId(@Param("userId") Long userId);
+
+    // ✅ 수정/삭제용: 워커가 같은 일기의 감정을 동시에 채우지 못하게 잠그고 읽는다
+    // (수정이 오래된 감정 상태를 덮어쓰거나, 삭제 뒤 감정 통계가 어긋나지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from Diary d where d.id = :id")
+    Optional<Diary> findByIdForUpdate(@Param("id") Long id);
+
+    // ✅ 소유자의 일기만: 다른 사용자의 일기 id 로는 찾을 수 없다
+    @Transactional(readOnly = true)
+    @Query("select new com.diary.kong.dto.DiaryMoodDto(d.id, d.mood, d.moodStatus, d.moodAttempts) " +
+        "from Diary d where d.id = :id and d.user.id = :userId")
+    Optional<DiaryMoodDto> findMoodView(@Param("id") Long id, @Param("userId") Long userId);
+
+    // ✅ 분석 대기 중이고 재시도 시각이 지난 일기 ID 조회 (재시작 후 복구용, idx_diary_mood_candidates 범위 스캔)
+    @Query("select d.id from Diary d where d.moodStatus = :status and (d.moodNextAttemptAt is null or d.moodNextAttemptAt <= :now) order by d.id")
+    List<Long> findMoodAnalysisCandidates(@Param("status") MoodStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // ✅ 분석 작업 선점: 대기 상태이고 임대가 만료된 경우에만 시도 횟수를 올리고 임대를 건다
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Diary d set d.moodAttempts = d.moodAttempts + 1, d.moodNextAttemptAt = :leaseUntil " +
+        "where d.id = :id and d.moodStatus = :status and (d.moodNextAttemptAt is null or d.moodNextAttemptAt <= :now)")
+    int claimMoodAnalysis(@Param("id") Long id, @Param("status") MoodStatus status,
+        @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // ✅ 대기 중인 일기에만 결과를 쓴다: 임대가 만료돼 두 워커가 같은 일기를 끝내도 한 번만 반영된다 (감정 통계 중복 방지)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Diary d set d.mood = :mood, d.moodStatus = :status, d.moodNextAttemptAt = null " +
+        "where d.id = :id and d.moodStatus = com.diary.kong.model.MoodStatus.PENDING")
+    int updateMoodResult(@Param("id") Long id, @Param("mood") Mood mood, @Param("status") MoodStatus status);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Diary d set d.moodNextAttemptAt = :nextAttemptAt where d.id = :id")
+    int rescheduleMoodAnalysis(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    // ✅ 선점 때 올린 시도 횟수를 되돌리고 미룬다 (LLM 쪽 장애는 일기의 재시도 횟수를 소모하지 않음)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Diary d set d.moodAttempts = d.moodAttempts - 1, d.moodNextAttemptAt = :nextAttemptAt where d.id = :id and d.moodAttempts > 0")
+    int deferMoodAnalysis(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
 }
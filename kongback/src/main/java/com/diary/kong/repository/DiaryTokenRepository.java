@@ -0,0 +1,31 @@
+package com.diary.kong.repository;
+
+import com.diary.kong.model.DiaryToken;
+import com.diary.kong.model.DiaryTokenId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DiaryTokenRepository extends JpaRepository<DiaryToken, DiaryTokenId> {
+
+    // ✅ 모든 토큰을 가진 일기 (PK (user_id, token, diary_id) 범위만 읽는다). 최근 일기부터 limit 까지
+    @Query("select t.id.diaryId from DiaryToken t where t.id.userId = :userId and t.id.token in :tokens " +
+        "group by t.id.diaryId having count(t) = :tokenCount order by t.id.diaryId desc")
+    List<Long> findDiaryIdsWithAllTokens(@Param("userId") Long userId, @Param("tokens") Collection<String> tokens,
+        @Param("tokenCount") long tokenCount, Pageable pageable);
+
+    // ✅ 한 글자 검색어: 그 글자로 시작하는 토큰 (bigram 첫 글자 또는 구간 마지막 글자)
+    @Query("select distinct t.id.diaryId from DiaryToken t where t.id.userId = :userId and t.id.token like :prefix " +
+        "order by t.id.diaryId desc")
+    List<Long> findDiaryIdsWithTokenPrefix(@Param("userId") Long userId, @Param("prefix") String prefix,
+        Pageable pageable);
+
+    @Modifying
+    @Query("delete from DiaryToken t where t.id.diaryId = :diaryId")
+    int deleteByDiaryId(@Param("diaryId") Long diaryId);
+}
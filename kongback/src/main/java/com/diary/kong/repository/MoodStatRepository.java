@@ -0,0 +1,36 @@
+package com.diary.kong.repository;
+
+import com.diary.kong.model.MoodStat;
+import com.diary.kong.model.MoodStatId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MoodStatRepository extends JpaRepository<MoodStat, MoodStatId> {
+
+    // ✅ 한 문장으로 증감: 행이 없으면 만들고 있으면 더한다 (동시 첫 insert 경합이 없다)
+    @Modifying
+    @Query(value = "INSERT INTO mood_stat (user_id, stat_month, mood, diary_count) VALUES (:userId, :month, :mood, :delta) " +
+        "ON DUPLICATE KEY UPDATE diary_count = diary_count + :delta", nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("month") LocalDate month, @Param("mood") short mood,
+        @Param("delta") long delta);
+
+    @Query("select s from MoodStat s where s.id.userId = :userId and s.id.month between :from and :to " +
+        "and s.count > 0 order by s.id.month")
+    List<MoodStat> findRange(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ✅ 재집계 중 같은 사용자의 증감을 막는다 (InnoDB 는 user_id 범위의 새 행 insert 도 기다리게 한다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from MoodStat s where s.id.userId = :userId")
+    List<MoodStat> lockByUserId(@Param("userId") Long userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from MoodStat s where s.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,23 +1,54 @@
 package com.diary.kong.security;
 
 
+import com.diary.kong.common.EndpointTag;
+import com.diary.kong.config.SecurityConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+    // (result, endpoint) 별 타이머: 요청마다 Timer.builder().register() 로 태그를 만들고 조회하지 않도록 한 번만 등록한다
+    private final Map<String, Map<String, Timer>> verifyTimers = new ConcurrentHashMap<>();
+
+    // ✅ permitAll 경로는 인증 정보가 필요 없으므로 토큰 파싱 자체를 건너뛴다
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        for (String pattern : SecurityConfig.PERMIT_ALL_PATTERNS) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -25,17 +56,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         FilterChain filterChain) throws ServletException, IOException {
 
         String token = resolveToken(request);
+        if (token == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String email = jwtTokenProvider.getEmail(token);
+        // ✅ 캐시에 없을 때만 서명 검증 + 클레임 파싱을 한 번 수행하고, 토큰 만료 시각까지 결과를 재사용한다
+        long start = System.nanoTime();
+        String email = verifiedTokenCache.get(token);
+        String result = "cached";
+        if (email == null) {
+            email = verify(token);
+            result = email == null ? "invalid" : "verified";
+        }
+        long elapsed = System.nanoTime() - start;
 
+        if (email != null) {
             JwtAuthenticationToken authentication = new JwtAuthenticationToken(email, null, null);
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // ✅ endpoint 패턴은 DispatcherServlet 이 핸들러를 찾은 뒤에야 정해지므로 체인이 끝난 뒤 기록한다
+            verifyTimer(result, EndpointTag.of(request)).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer verifyTimer(String result, String endpoint) {
+        return verifyTimers.computeIfAbsent(result, r -> new ConcurrentHashMap<>())
+            .computeIfAbsent(endpoint, e -> Timer.builder("jwt.verify")
+                .tag("result", result)
+                .tag(EndpointTag.KEY, endpoint)
+                .register(meterRegistry));
+    }
+
+    private String verify(String token) {
+        try {
+            Claims claims = jwtTokenProvider.parseAndValidate(token);
+            String email = claims.get("email", String.class);
+            if (email != null) {
+                verifiedTokenCache.put(token, email, claims.getExpiration().getTime());
+            }
+            return email;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
     }
 
     private String resolveToken(HttpServletRequest request) {
@@ -45,4 +115,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -1,41 +1,82 @@
 package com.diary.kong.security;
 
+import com.diary.kong.common.EndpointTag;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
     private final RedisTemplate<String, String> redisTemplate;
-
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.access-token-expiration}")
-    private long accessTokenExpiration;
-
-    @Value("${jwt.refresh-token-expiration}")
-    private long refreshTokenExpiration;
+    private final MeterRegistry meterRegistry;
+
+    // (operation, endpoint) 별 Redis 왕복 타이머: 호출마다 Timer.builder().register() 로 조회하지 않도록 한 번만 등록한다
+    private final Map<String, Map<String, Timer>> redisTimers = new ConcurrentHashMap<>();
+
+    // ✅ 키와 파서는 한 번만 만들어 재사용한다 (둘 다 불변이며 스레드 안전)
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    private final long accessTokenExpiration;
+    private final long refreshTokenExpiration;
+
+    // ✅ 남은 TTL 이 이보다 짧으면 refresh token 을 회전한다
+    static final long ROTATION_THRESHOLD_MILLIS = TimeUnit.DAYS.toMillis(3);
+
+    // ✅ GET → PTTL → SET 을 한 번의 왕복으로 원자적으로 수행하는 스크립트 (결과: 0 불일치, 1 유지, 2 회전)
+    static final long ROTATE_MISMATCH = 0L;
+    static final long ROTATE_KEPT = 1L;
+    static final long ROTATE_ROTATED = 2L;
+
+    private static final RedisScript<Long> ROTATE_REFRESH_TOKEN_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/rotate-refresh-token.lua"), Long.class);
+
+    public JwtTokenProvider(RedisTemplate<String, String> redisTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${jwt.secret}") String secretKey,
+        @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
+        @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        // 기존 signWith(HS256, String) 과 같은 키: Base64 로 디코딩한 바이트
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+    }
 
     public TokenResponse createToken(String email) {
         String accessToken = generateAccessToken(email);
         String refreshToken = generateRefreshToken(email);
 
-        redisTemplate.opsForValue()
-            .set("RT:" + email, refreshToken, refreshTokenExpiration, TimeUnit.MILLISECONDS);
+        timeRedis("store_refresh_token", () -> {
+            redisTemplate.opsForValue()
+                .set("RT:" + email, refreshToken, refreshTokenExpiration, TimeUnit.MILLISECONDS);
+            return null;
+        });
 
         return TokenResponse.builder()
             .accessToken(accessToken)
@@ -43,56 +84,60 @@ public class JwtTokenProvider {
             .build();
     }
 
-    private String generateAccessToken(String email) {
-        return Jwts.builder()
-            .setSubject(email)
-            .claim("email", email)
-            .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-            .signWith(SignatureAlgorithm.HS256, secretKey)  // 디코딩 제거
-            .compact();
+    String generateAccessToken(String email) {
+        return generateToken(email, accessTokenExpiration);
     }
 
-    private String generateRefreshToken(String email) {
+    String generateRefreshToken(String email) {
+        return generateToken(email, refreshTokenExpiration);
+    }
+
+    private String generateToken(String email, long expiration) {
         return Jwts.builder()
             .setSubject(email)
             .claim("email", email)
-            .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
-            .signWith(SignatureAlgorithm.HS256, secretKey)  // 디코딩 제거
+            .setExpiration(new Date(System.currentTimeMillis() + expiration))
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
-    public TokenResponse refreshToken(String refreshToken) {
-        String email = getEmail(refreshToken);
-        String savedRefreshToken = redisTemplate.opsForValue().get("RT:" + email);
+    // ✅ 호출 측에서 이미 검증한 refresh token 의 email 을 넘겨받아 다시 파싱하지 않는다
+    // 비교/TTL 확인/회전은 Lua 스크립트 한 번으로 처리해 동시 갱신 시에도 lost update 가 없다
+    public TokenResponse refreshToken(String email, String refreshToken) {
+        String candidateRefreshToken = generateRefreshToken(email);
+
+        Long outcome = timeRedis("rotate_refresh_token", () -> redisTemplate.execute(
+            ROTATE_REFRESH_TOKEN_SCRIPT,
+            Collections.singletonList("RT:" + email),
+            refreshToken,
+            candidateRefreshToken,
+            String.valueOf(ROTATION_THRESHOLD_MILLIS),
+            String.valueOf(refreshTokenExpiration)));
 
-        if (savedRefreshToken == null || !savedRefreshToken.equals(refreshToken)) {
+        if (outcome == null || outcome == ROTATE_MISMATCH) {
             throw new IllegalArgumentException("Invalid refresh token");
         }
 
-        String newAccessToken = generateAccessToken(email);
-        String newRefreshToken = refreshToken;
-
-        long remainingTime = redisTemplate.getExpire("RT:" + email, TimeUnit.MILLISECONDS);
-
-        if (remainingTime < TimeUnit.DAYS.toMillis(3)) {
-            newRefreshToken = generateRefreshToken(email);
-            redisTemplate.opsForValue()
-                .set("RT:" + email, newRefreshToken, refreshTokenExpiration, TimeUnit.MILLISECONDS);
-        }
+        String newRefreshToken = outcome == ROTATE_ROTATED ? candidateRefreshToken : refreshToken;
 
         return TokenResponse.builder()
-            .accessToken(newAccessToken)
+            .accessToken(generateAccessToken(email))
             .refreshToken(newRefreshToken)
             .build();
     }
 
+    // ✅ 서명/만료 검증과 클레임 파싱을 한 번에 수행 (실패 시 JwtException)
+    public Claims parseAndValidate(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
     public String getEmail(String token) {
-        return extractClaims(token).get("email").toString();
+        return parseAndValidate(token).get("email", String.class);
     }
 
     public boolean isExpired(String token) {
         try {
-            return extractClaims(token).getExpiration().before(new Date());
+            return parseAndValidate(token).getExpiration().before(new Date());
         } catch (ExpiredJwtException e) {
             return true;
         }
@@ -100,24 +145,33 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .setSigningKey(secretKey)  // 디코딩 제거
-                .parseClaimsJws(token);
+            parseAndValidate(token);
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
             return false;
         }
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-            .setSigningKey(secretKey)  // 디코딩 제거
-            .parseClaimsJws(token)
-            .getBody();
+    public void logout(String email) {
+        timeRedis("delete_refresh_token", () -> redisTemplate.delete("RT:" + email));
     }
 
-    public void logout(String email) {
-        redisTemplate.delete("RT:" + email);
+    // ✅ Lettuce 명령 지표(lettuce.command.*)에는 요청 정보가 없어서, 어느 엔드포인트의 Redis 왕복인지 여기서 따로 잰다
+    private <T> T timeRedis(String operation, Supplier<T> command) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return command.get();
+        } finally {
+            sample.stop(redisTimer(operation, EndpointTag.current()));
+        }
+    }
+
+    private Timer redisTimer(String operation, String endpoint) {
+        return redisTimers.computeIfAbsent(operation, o -> new ConcurrentHashMap<>())
+            .computeIfAbsent(endpoint, e -> Timer.builder("redis.command")
+                .tag("operation", operation)
+                .tag(EndpointTag.KEY, endpoint)
+                .register(meterRegistry));
     }
 }
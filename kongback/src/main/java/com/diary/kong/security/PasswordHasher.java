@@ -0,0 +1,159 @@
+package com.diary.kong.security;
+
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.config.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntToLongFunction;
+
+/**
+ * BCrypt 해시/비교 전용 실행기: 코어 수만큼의 스레드와 제한된 대기열로, 로그인이 몰려도
+ * 요청 스레드 전체가 BCrypt 로 CPU 를 붙잡지 않게 한다 (대기열이 차면 429).
+ * cost(strength) 는 기동 시 이 호스트에서 한 번 해시하는 데 target-ms 안쪽이 되도록 고른다.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String CALIBRATION_PASSWORD = "kong-calibration-password";
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final long timeoutMs;
+    private final Counter rejected;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+        @Value("${auth.password.threads:0}") int threads,
+        @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+        @Value("${auth.password.timeout-ms:5000}") long timeoutMs,
+        @Value("${auth.password.strength:0}") int strength,
+        @Value("${auth.password.target-ms:100}") long targetMs,
+        @Value("${auth.password.min-strength:10}") int minStrength,
+        @Value("${auth.password.max-strength:14}") int maxStrength) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeoutMs = timeoutMs;
+        this.strength = strength > 0 ? strength
+            : calibrate(minStrength, maxStrength, targetMs, PasswordHasher::hashNanos);
+        this.encoder = new BCryptPasswordEncoder(this.strength);
+        log.info("BCrypt strength {} ({}), 해시 스레드 {}개", this.strength,
+            strength > 0 ? "설정값" : "목표 " + targetMs + "ms 로 측정", poolSize);
+
+        // ✅ CPU 만 쓰는 작업이라 가상 스레드 모드에서도 플랫폼 스레드로 둔다 (캐리어를 놓아줄 대기 구간이 없다)
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            VirtualThreads.factory(false, "password-hash-"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejected = meterRegistry.counter("auth.password.rejected");
+        Gauge.builder("auth.password.strength", this, hasher -> hasher.strength).register(meterRegistry);
+        Gauge.builder("auth.password.pool.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("auth.password.pool.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return execute(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // ✅ 지금 strength 보다 낮은 cost 로 만든 해시인지 (더 높은 해시를 낮추지는 않는다)
+    public boolean needsRehash(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    // ✅ 응답을 기다리게 하지 않는 재해시용. 대기열이 차 있으면 TooManyRequestsException 으로 끝난다
+    public CompletableFuture<String> encodeInBackground(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(busy());
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 확인이 중단되었습니다.", e);
+        }
+    }
+
+    /**
+     * cost 가 1 오를 때마다 BCrypt 시간은 두 배가 되므로, minStrength 에서 한 번 재고
+     * 두 배씩 늘려 target 을 넘지 않는 가장 큰 cost 를 고른다. minStrength 가 이미 target 을 넘으면 minStrength.
+     */
+    static int calibrate(int minStrength, int maxStrength, long targetMs, IntToLongFunction hashNanos) {
+        hashNanos.applyAsLong(minStrength);  // JIT 예열
+        long nanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            nanos = Math.min(nanos, hashNanos.applyAsLong(minStrength));
+        }
+
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMs);
+        int chosen = minStrength;
+        while (chosen < maxStrength && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            chosen++;
+        }
+        return chosen;
+    }
+
+    private static long hashNanos(int strength) {
+        BCryptPasswordEncoder sample = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        sample.encode(CALIBRATION_PASSWORD);
+        return System.nanoTime() - start;
+    }
+
+    private static TooManyRequestsException busy() {
+        return new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도하세요.", 1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,68 @@
+package com.diary.kong.security;
+
+import com.diary.kong.common.ApiResponse;
+import com.diary.kong.common.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 인증 없이 열린 로그인/회원가입/토큰 재발급 요청을 IP 단위로 제한한다.
+ * 요청 본문을 읽기 전에 걸러서 BCrypt 와 Redis 까지 가지 않게 한다 (email 단위 제한은 AuthService).
+ * IP 는 getRemoteAddr() 이므로 프록시 뒤에서는 server.forward-headers-strategy 로 실제 클라이언트 주소를 넘겨야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Map<String, RateLimiter.Policy> IP_POLICIES = Map.of(
+        "/api/v1/auth/login", RateLimiter.Policy.LOGIN_IP,
+        "/api/v1/user/signup", RateLimiter.Policy.SIGNUP_IP,
+        "/api/v1/auth/refresh", RateLimiter.Policy.REFRESH_IP);
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    // ✅ CORS preflight(OPTIONS) 와 다른 경로는 세지 않는다
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || policyOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+
+        try {
+            rateLimiter.acquire(policyOf(request), request.getRemoteAddr());
+        } catch (TooManyRequestsException e) {
+            // 필터에서 던진 예외는 GlobalExceptionHandler 까지 가지 않으므로 같은 형태로 직접 응답한다
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(429, e.getMessage()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static RateLimiter.Policy policyOf(HttpServletRequest request) {
+        return IP_POLICIES.get(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+}
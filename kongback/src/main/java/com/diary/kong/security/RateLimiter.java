@@ -0,0 +1,310 @@
+package com.diary.kong.security;
+
+import com.diary.kong.common.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 로그인/회원가입/토큰 재발급의 IP, email 단위 토큰 버킷.
+ * 허용 여부는 노드 안의 버킷만 보고 정하고(요청마다 Redis 왕복 없음), 쓴 토큰은 sync-interval-ms 마다
+ * Lua 스크립트 한 번으로 Redis 에 모아 반영한 뒤 클러스터 전체의 남은 토큰으로 버킷을 맞춘다.
+ * 노드가 처음 보는 키는 Redis 의 남은 토큰에서 시작하므로(키당 한 번 왕복), 버킷이 정리됐다 다시 생겨도 새로 가득 차지 않는다.
+ * 따라서 노드가 N 개이면 더 허용되는 양은 한 동기화 주기 동안 같은 키에 남은 토큰의 최대 N 배까지다.
+ * Redis 에 닿지 못하면 노드 안의 버킷만으로 제한한다.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    public enum Policy {
+        LOGIN_IP("login-ip"),
+        LOGIN_EMAIL("login-email"),
+        SIGNUP_IP("signup-ip"),
+        REFRESH_IP("refresh-ip");
+
+        private final String tag;
+
+        Policy(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    // 버킷 용량과 분당 채워지는 토큰 수
+    public record Limit(long capacity, double perMinute) {
+
+        double perMillis() {
+            return perMinute / 60_000d;
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<Long>> SYNC_SCRIPT = (RedisScript) RedisScript.of(
+        new ClassPathResource("redis/sync-rate-limit-buckets.lua"), List.class);
+    private static final RedisScript<Long> PEEK_SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/peek-rate-limit-bucket.lua"), Long.class);
+
+    // 버킷 수가 max-buckets 에 닿았을 때 내보낼 버킷을 찾으며 살펴보는 최대 개수
+    private static final int EVICTION_SCAN = 32;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final int syncBatchSize;
+    private final Map<Policy, Limit> limits;
+    private final LongSupplier clock;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<Policy, Counter> allowed = new EnumMap<>(Policy.class);
+    private final Map<Policy, Counter> rejected = new EnumMap<>(Policy.class);
+    private final Counter evictions;
+    private final Counter overflows;
+    private final Counter syncFailures;
+    private volatile boolean redisAvailable = true;
+    // 내보낼 버킷을 찾는 위치: 호출마다 이어서 돌아 앞쪽 버킷만 반복해서 보지 않는다 (CLOCK 과 같은 방식)
+    private Iterator<Map.Entry<String, Bucket>> evictionCursor;
+    // evictionCursor 는 한 번에 한 스레드만 움직인다
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public RateLimiter(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry,
+        @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+        @Value("${auth.rate-limit.max-buckets:100000}") int maxBuckets,
+        @Value("${auth.rate-limit.sync-batch-size:500}") int syncBatchSize,
+        @Value("${auth.rate-limit.login-ip.capacity:20}") long loginIpCapacity,
+        @Value("${auth.rate-limit.login-ip.per-minute:10}") double loginIpPerMinute,
+        @Value("${auth.rate-limit.login-email.capacity:5}") long loginEmailCapacity,
+        @Value("${auth.rate-limit.login-email.per-minute:2}") double loginEmailPerMinute,
+        @Value("${auth.rate-limit.signup-ip.capacity:5}") long signupIpCapacity,
+        @Value("${auth.rate-limit.signup-ip.per-minute:2}") double signupIpPerMinute,
+        @Value("${auth.rate-limit.refresh-ip.capacity:30}") long refreshIpCapacity,
+        @Value("${auth.rate-limit.refresh-ip.per-minute:30}") double refreshIpPerMinute) {
+        this(redisTemplate, meterRegistry, enabled, maxBuckets, syncBatchSize, Map.of(
+                Policy.LOGIN_IP, new Limit(loginIpCapacity, loginIpPerMinute),
+                Policy.LOGIN_EMAIL, new Limit(loginEmailCapacity, loginEmailPerMinute),
+                Policy.SIGNUP_IP, new Limit(signupIpCapacity, signupIpPerMinute),
+                Policy.REFRESH_IP, new Limit(refreshIpCapacity, refreshIpPerMinute)),
+            () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    RateLimiter(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry, boolean enabled,
+        int maxBuckets, int syncBatchSize, Map<Policy, Limit> limits, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        this.syncBatchSize = syncBatchSize;
+        this.limits = new EnumMap<>(limits);
+        this.clock = clock;
+
+        for (Policy policy : Policy.values()) {
+            allowed.put(policy, meterRegistry.counter("auth.ratelimit.requests", "policy", policy.tag, "result", "allowed"));
+            rejected.put(policy, meterRegistry.counter("auth.ratelimit.requests", "policy", policy.tag, "result", "rejected"));
+        }
+        this.evictions = meterRegistry.counter("auth.ratelimit.evictions");
+        this.overflows = meterRegistry.counter("auth.ratelimit.overflows");
+        this.syncFailures = meterRegistry.counter("auth.ratelimit.sync.failures");
+        Gauge.builder("auth.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    // ✅ 토큰이 없으면 다음 토큰이 찰 때까지의 시간을 Retry-After 로 담아 429 를 던진다
+    public void acquire(Policy policy, String key) {
+        Limit limit = limits.get(policy);
+        if (!enabled || limit == null || key == null || key.isBlank()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        String bucketKey = "RL:" + policy.tag + ":" + key;
+        Bucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            // 키는 요청자가 정하므로 개수를 제한한다. 넘치면 지난 동기화 이후 쓰이지 않은 버킷을 내보내고,
+            // 그런 버킷이 없으면 (한 주기 안에 max-buckets 개의 키가 몰림) 제한 없이 통과시키지 않고 거절한다
+            if (buckets.size() >= maxBuckets && !evictIdleBucket()) {
+                overflows.increment();
+                rejected.get(policy).increment();
+                throw new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도하세요.", 1);
+            }
+            Bucket created = new Bucket(limit, seedTokens(bucketKey, limit), now);
+            Bucket existing = buckets.putIfAbsent(bucketKey, created);
+            bucket = existing != null ? existing : created;
+        }
+
+        bucket.touched = true;
+        bucket.pending.increment();
+        double available = bucket.available(now);
+        if (available >= 0) {
+            allowed.get(policy).increment();
+            return;
+        }
+        bucket.pending.decrement();
+        rejected.get(policy).increment();
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(-available / limit.perMillis() / 1000));
+        throw new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도하세요.", retryAfterSeconds);
+    }
+
+    // ✅ 지난 주기에 쓰인 버킷만 모아 batch 단위로 스크립트를 한 번씩 실행한다. 다시 가득 찬 유휴 버킷은 정리한다
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sync-interval-ms:200}")
+    public void sync() {
+        if (!enabled || buckets.isEmpty()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        List<String> keys = new ArrayList<>();
+        List<Bucket> batch = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (!bucket.touched) {
+                if (bucket.pending.sum() == 0 && bucket.tokens(now, 0) >= bucket.limit.capacity()) {
+                    buckets.remove(entry.getKey(), bucket);
+                }
+                continue;
+            }
+            bucket.touched = false;
+            long consumed = bucket.pending.sum();
+            // Redis 에 반영하지 못해도 노드 안에서는 쓴 만큼 빠져 있어야 한다 (잠깐 두 번 빠지는 쪽이 덜 허용한다)
+            bucket.snapshot = new Snapshot(Math.max(0, bucket.tokens(now, consumed)), now);
+            bucket.pending.add(-consumed);
+
+            keys.add(entry.getKey());
+            batch.add(bucket);
+            args.add(String.valueOf(bucket.limit.capacity()));
+            args.add(String.valueOf(bucket.limit.perMillis()));
+            args.add(String.valueOf(consumed));
+            if (keys.size() == syncBatchSize) {
+                flush(keys, batch, args, now);
+                keys = new ArrayList<>();
+                batch = new ArrayList<>();
+                args = new ArrayList<>();
+            }
+        }
+        if (!keys.isEmpty()) {
+            flush(keys, batch, args, now);
+        }
+    }
+
+    // ✅ 처음 보는 키는 Redis 의 남은 토큰에서 시작한다. Redis 가 끊긴 동안에는 왕복 없이 가득 찬 버킷으로 시작한다
+    private double seedTokens(String bucketKey, Limit limit) {
+        if (!redisAvailable) {
+            return limit.capacity();
+        }
+        try {
+            Long remaining = redisTemplate.execute(PEEK_SCRIPT, Collections.singletonList(bucketKey),
+                String.valueOf(limit.capacity()), String.valueOf(limit.perMillis()));
+            return remaining == null ? limit.capacity() : Math.min(limit.capacity(), remaining / 1000d);
+        } catch (Exception e) {
+            syncFailures.increment();
+            if (redisAvailable) {
+                redisAvailable = false;
+                log.warn("요청 제한 동기화 실패, 노드 안의 버킷으로만 제한합니다: {}", e.getMessage());
+            }
+            return limit.capacity();
+        }
+    }
+
+    // 지난 동기화 이후 쓰이지 않았고 소비량이 모두 Redis 에 반영된 버킷 하나를 내보낸다.
+    // 다시 필요해지면 seedTokens 가 Redis 에서 이어 받으므로 제한이 풀리지 않는다
+    private boolean evictIdleBucket() {
+        lock.lock();
+        try {
+            for (int scanned = 0; scanned < EVICTION_SCAN; scanned++) {
+                if (evictionCursor == null || !evictionCursor.hasNext()) {
+                    evictionCursor = buckets.entrySet().iterator();
+                    if (!evictionCursor.hasNext()) {
+                        return false;
+                    }
+                }
+                Map.Entry<String, Bucket> entry = evictionCursor.next();
+                Bucket bucket = entry.getValue();
+                if (!bucket.touched && bucket.pending.sum() == 0 && buckets.remove(entry.getKey(), bucket)) {
+                    evictions.increment();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(List<String> keys, List<Bucket> batch, List<String> args, long now) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<Long> remaining = redisTemplate.execute(SYNC_SCRIPT, keys, args.toArray());
+            if (remaining == null || remaining.size() != batch.size()) {
+                throw new IllegalStateException("unexpected script result: " + remaining);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).snapshot = new Snapshot(remaining.get(i) / 1000d, now);
+            }
+            if (!redisAvailable) {
+                redisAvailable = true;
+                log.info("요청 제한 동기화 복구");
+            }
+        } catch (Exception e) {
+            syncFailures.increment();
+            // 주기마다 실패하므로 끊긴 시점에만 남긴다
+            if (redisAvailable) {
+                redisAvailable = false;
+                log.warn("요청 제한 동기화 실패, 노드 안의 버킷으로만 제한합니다: {}", e.getMessage());
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("auth.ratelimit.sync"));
+        }
+    }
+
+    private record Snapshot(double tokens, long at) {
+    }
+
+    private static final class Bucket {
+        private final Limit limit;
+        // 마지막 동기화 이후 이 노드에서 쓴 토큰 (요청 스레드끼리 한 칸을 다투지 않도록 LongAdder)
+        private final LongAdder pending = new LongAdder();
+        // 마지막 동기화 시점에 남아 있던 토큰 (Redis 에 반영했으면 클러스터 전체 기준)
+        private volatile Snapshot snapshot;
+        private volatile boolean touched;
+
+        private Bucket(Limit limit, double tokens, long now) {
+            this.limit = limit;
+            this.snapshot = new Snapshot(tokens, now);
+        }
+
+        // 용량 제한은 채운 양에만 걸고 동기화 이후 쓴 토큰은 그 뒤에 뺀다 (Lua 스크립트와 같은 순서).
+        // 그래서 쓴 토큰이 다시 채워지는 것은 다음 동기화부터다 (한 주기만큼 덜 허용하는 쪽으로 어긋난다)
+        private double tokens(long now, long consumed) {
+            Snapshot current = snapshot;
+            double refilled = current.tokens() + Math.max(0, now - current.at()) * limit.perMillis();
+            return Math.min(limit.capacity(), refilled) - consumed;
+        }
+
+        private double available(long now) {
+            return tokens(now, pending.sum());
+        }
+    }
+}
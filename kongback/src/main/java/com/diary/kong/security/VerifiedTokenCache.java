@@ -0,0 +1,94 @@
+package com.diary.kong.security;
+
+import com.diary.kong.cache.LocalCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 서명 검증을 통과한 토큰의 클레임(email)을 토큰 만료 시각까지 보관하는 캐시.
+ * 키는 토큰 원문이 아닌 SHA-256 다이제스트라 메모리에 토큰이 그대로 남지 않는다.
+ * 가득 차면 가장 오래 쓰이지 않은 토큰부터 밀어낸다 (LocalCache 의 LRU, 삽입마다 전체를 훑지 않는다).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final long maxTtlMs;
+    private final LocalCache<String, VerifiedToken> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+        @Value("${jwt.verified-cache.enabled:true}") boolean enabled,
+        @Value("${jwt.verified-cache.max-size:10000}") int maxSize,
+        @Value("${jwt.verified-cache.max-ttl-ms:300000}") long maxTtlMs) {
+        this.enabled = enabled;
+        this.maxTtlMs = maxTtlMs;
+        this.entries = new LocalCache<>(maxSize, maxTtlMs);
+        this.hits = meterRegistry.counter("jwt.verified.cache", "result", "hit");
+        this.misses = meterRegistry.counter("jwt.verified.cache", "result", "miss");
+        Gauge.builder("jwt.verified.cache.size", entries, LocalCache::size).register(meterRegistry);
+    }
+
+    // ✅ 검증된 적 있고 아직 만료되지 않은 토큰이면 email, 아니면 null
+    public String get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        String key = digest(token);
+        VerifiedToken verified = entries.get(key);
+        if (verified == null) {
+            misses.increment();
+            return null;
+        }
+        // 항목 TTL 은 max-ttl-ms 이고, 그보다 먼저 끝나는 토큰은 여기서 걸러 낸다
+        if (verified.expiresAt() <= System.currentTimeMillis()) {
+            entries.invalidate(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return verified.email();
+    }
+
+    public void put(String token, String email, long tokenExpiresAt) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(tokenExpiresAt, now + maxTtlMs);
+        if (expiresAt <= now) {
+            return;
+        }
+        entries.put(digest(token), new VerifiedToken(email, expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        entries.purgeExpired();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String email, long expiresAt) {
+    }
+}
@@ -1,39 +1,65 @@
 package com.diary.kong.service;
 
+import com.diary.kong.cache.UserCache;
 import com.diary.kong.common.CustomException;
+import com.diary.kong.common.EndpointTag;
 import com.diary.kong.dto.LoginResponseDto;
 import com.diary.kong.dto.UserDetailDto;
 import com.diary.kong.security.TokenResponse;
 import com.diary.kong.dto.UserLoginDto;
 import com.diary.kong.model.User;
-import com.diary.kong.repository.UserRepository;
 import com.diary.kong.security.JwtTokenProvider;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.diary.kong.security.PasswordHasher;
+import com.diary.kong.security.RateLimiter;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
 @Service
 public class AuthService {
 
-    private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final UserService userService;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    // (result, endpoint) 별 비밀번호 비교 타이머: 로그인마다 Timer.builder().register() 로 조회하지 않도록 한 번만 등록한다
+    private final Map<String, Map<String, Timer>> verifyTimers = new ConcurrentHashMap<>();
 
-    public AuthService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider, RedisTemplate<String, String> redisTemplate) {
-        this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+    public AuthService(UserCache userCache, UserService userService, PasswordHasher passwordHasher,
+        JwtTokenProvider jwtTokenProvider, RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.userCache = userCache;
+        this.userService = userService;
+        this.passwordHasher = passwordHasher;
         this.jwtTokenProvider = jwtTokenProvider;
-        this.redisTemplate = redisTemplate;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
     }
 
     public LoginResponseDto login(UserLoginDto userLoginDto) {
-        User user = userRepository.findByEmail(userLoginDto.getEmail())
+        // ✅ 여러 IP 에서 한 계정을 노리는 대입 공격은 email 단위로 막는다 (가입 여부와 상관없이 세서 존재를 드러내지 않는다)
+        if (userLoginDto.getEmail() != null) {
+            rateLimiter.acquire(RateLimiter.Policy.LOGIN_EMAIL, userLoginDto.getEmail().trim().toLowerCase(Locale.ROOT));
+        }
+
+        User user = userCache.findByEmail(userLoginDto.getEmail())
             .orElseThrow(() -> new CustomException(401, "이메일 또는 비밀번호가 올바르지 않습니다."));
 
-        if (!passwordEncoder.matches(userLoginDto.getPassword(), user.getPassword())) {
+        if (!passwordMatches(userLoginDto.getPassword(), user.getPassword())) {
             throw new CustomException(401, "이메일 또는 비밀번호가 올바르지 않습니다.");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            rehashInBackground(user, userLoginDto.getPassword());
+        }
 
         TokenResponse tokens = jwtTokenProvider.createToken(user.getEmail());
 
@@ -52,21 +78,50 @@ public class AuthService {
         return loginResponseDto;
     }
 
+    // ✅ BCrypt 비교는 로그인 지연의 대부분을 차지하므로 일치 여부별로 따로 잰다 (해시 스레드 대기 시간 포함)
+    private boolean passwordMatches(String rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = passwordHasher.matches(rawPassword, encodedPassword);
+        sample.stop(verifyTimer(matches ? "match" : "mismatch", EndpointTag.current()));
+        return matches;
+    }
+
+    private Timer verifyTimer(String result, String endpoint) {
+        return verifyTimers.computeIfAbsent(result, r -> new ConcurrentHashMap<>())
+            .computeIfAbsent(endpoint, e -> Timer.builder("auth.password.verify")
+                .tag("result", result)
+                .tag(EndpointTag.KEY, endpoint)
+                .register(meterRegistry));
+    }
+
+    // ✅ 예전 cost 로 저장된 해시는 비밀번호를 알고 있는 로그인 성공 시점에만 올릴 수 있다.
+    //    응답은 기다리지 않고, 실패하면 다음 로그인에서 다시 시도한다 (사용자당 한 번뿐이라 UPDATE 도 해시 스레드에서 한다)
+    private void rehashInBackground(User user, String rawPassword) {
+        passwordHasher.encodeInBackground(rawPassword)
+            .thenApply(newHash -> userService.upgradePasswordHash(user, newHash))
+            .whenComplete((upgraded, e) -> {
+                String result = e != null ? "failed" : upgraded ? "upgraded" : "skipped";
+                if (e != null) {
+                    log.warn("비밀번호 해시 갱신 실패 (userId={}): {}", user.getId(), e.getMessage());
+                }
+                meterRegistry.counter("auth.password.rehash", "result", result).increment();
+            });
+    }
+
     public TokenResponse refreshAccessToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        String email;
+        try {
+            email = jwtTokenProvider.parseAndValidate(refreshToken).get("email", String.class);
+        } catch (JwtException | IllegalArgumentException e) {
             throw new CustomException(401, "유효하지 않은 Refresh Token입니다.");
         }
 
-        String email = jwtTokenProvider.getEmail(refreshToken);
-        String storedToken = redisTemplate.opsForValue().get("RT:" + email);
-
-        if (storedToken == null || !storedToken.equals(refreshToken)) {
+        // ✅ 저장된 토큰 비교와 회전은 JwtTokenProvider 의 Lua 스크립트 한 번으로 처리된다
+        try {
+            return jwtTokenProvider.refreshToken(email, refreshToken);
+        } catch (IllegalArgumentException e) {
             throw new CustomException(401, "유효하지 않은 Refresh Token입니다.");
         }
-
-        TokenResponse newTokens = jwtTokenProvider.refreshToken(refreshToken);
-
-        return newTokens;
     }
 
     public void logout(String email) {
@@ -0,0 +1,75 @@
+package com.diary.kong.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 일기 검색용 문자 bigram 토크나이저.
+ * 한국어는 공백 단위로 자르면 조사/어미가 붙어 검색이 안 되므로 ("산책을", "산책했다"),
+ * 글자/숫자가 이어진 구간(run)마다 인접한 두 글자를 토큰으로 쓴다.
+ * 구간의 마지막 글자는 한 글자 토큰으로도 남겨서, 모든 글자가 어떤 토큰의 첫 글자가 되게 한다 (한 글자 검색 = 접두사 검색).
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    // ✅ NFKC + 소문자: 전각/반각, 호환 자모, 대소문자 차이를 없앤다
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    // ✅ 정규화된 글자/숫자 구간 목록 (검색어의 검증 단위)
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            terms.add(normalized.substring(start));
+        }
+        return terms;
+    }
+
+    // ✅ 토큰 -> 등장 횟수 (등장 순서 유지)
+    public static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> tokens = new LinkedHashMap<>();
+        for (String term : terms(text)) {
+            for (String token : tokensOf(term)) {
+                tokens.merge(token, 1, Integer::sum);
+            }
+        }
+        return tokens;
+    }
+
+    // ✅ 한 구간의 bigram 들 + 마지막 글자 (길이 1 인 구간은 그 글자 하나)
+    public static List<String> tokensOf(String term) {
+        int[] codePoints = term.codePoints().toArray();
+        List<String> tokens = new ArrayList<>(codePoints.length);
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+        if (codePoints.length > 0) {
+            tokens.add(new String(codePoints, codePoints.length - 1, 1));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,14 @@
+package com.diary.kong.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// ✅ 일기 생성/수정/삭제 또는 감정 결과 반영이 커밋된 뒤 월별 조회 캐시를 무효화하기 위한 이벤트
+@Getter
+@AllArgsConstructor
+public class DiaryChangedEvent {
+    private final Long userId;
+    private final LocalDate date;
+}
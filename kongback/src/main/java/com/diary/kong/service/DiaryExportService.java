@@ -0,0 +1,185 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.repository.DiaryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * 사용자의 전체 일기를 NDJSON / CSV 로 응답 스트림에 바로 써 내려간다.
+ * DB 에서는 (date, id) 키셋으로 PAGE_SIZE 씩 읽고 페이지마다 짧은 읽기 전용 트랜잭션을 쓰므로,
+ * 일기 수와 무관하게 메모리 사용량이 일정하고 느린 클라이언트가 커넥션을 붙잡지 않는다.
+ * 응답을 쓰는 스레드는 다운로드가 끝날 때까지 묶이므로 동시에 진행하는 내보내기 수는 max-concurrent 로 제한한다.
+ */
+@Service
+public class DiaryExportService {
+
+    // 이 행 수마다 flush 해서 클라이언트가 진행 중인 응답을 바로 받게 한다
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final int PAGE_SIZE = 500;
+
+    // 첫 페이지: 어떤 일기보다도 앞에 있는 위치 (MySQL DATE 최솟값)
+    private static final LocalDate FIRST_DATE = LocalDate.of(1000, 1, 1);
+
+    private static final String CSV_HEADER = "id,date,mood,moodStatus,createdAt,content";
+
+    @Getter
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final DiaryRepository diaryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+    private final Semaphore slots;
+
+    public DiaryExportService(DiaryRepository diaryRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        @Value("${diary.export.max-concurrent:4}") int maxConcurrent) {
+        this.diaryRepository = diaryRepository;
+        this.slots = new Semaphore(maxConcurrent);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 행마다 flush 하지 않도록 끈다 (flush 는 FLUSH_EVERY_ROWS 단위로 직접 한다)
+        this.ndjsonWriter = objectMapper.writerFor(DiaryDetailDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // ✅ 자리가 없으면 응답을 시작하기 전에 429 를 던진다. 자리는 응답 본문을 다 쓰고 나서 돌려준다
+    public StreamingResponseBody open(Long userId, Format format) {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("내보내기 요청이 많습니다. 잠시 후 다시 시도하세요.", 5);
+        }
+        return out -> {
+            try {
+                export(userId, format, out);
+            } finally {
+                slots.release();
+            }
+        };
+    }
+
+    void export(Long userId, Format format, OutputStream out) throws IOException {
+        Stream<DiaryDetailDto> diaries = Stream.iterate(fetchPage(userId, FIRST_DATE, 0L),
+                page -> !page.isEmpty(),
+                page -> page.size() < PAGE_SIZE ? List.of() : fetchPageAfter(userId, page.get(page.size() - 1)))
+            .flatMap(List::stream);
+        if (format == Format.CSV) {
+            writeCsv(diaries, out);
+        } else {
+            writeNdjson(diaries, out);
+        }
+    }
+
+    private List<DiaryDetailDto> fetchPageAfter(Long userId, DiaryDetailDto last) {
+        return fetchPage(userId, LocalDate.parse(last.getDate()), last.getId());
+    }
+
+    // 페이지를 읽는 동안만 커넥션을 쓴다 (응답을 쓰는 동안에는 트랜잭션이 없다)
+    private List<DiaryDetailDto> fetchPage(Long userId, LocalDate date, Long id) {
+        return readOnlyTransaction.execute(status ->
+            diaryRepository.findPageAfter(userId, date, id, PageRequest.ofSize(PAGE_SIZE)));
+    }
+
+    void writeNdjson(Stream<DiaryDetailDto> diaries, OutputStream out) throws IOException {
+        try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);  // 줄바꿈은 직접 쓴다 (기본 구분자는 공백)
+
+            int[] rows = {0};
+            diaries.forEach(diary -> {
+                try {
+                    ndjsonWriter.writeValue(generator, diary);
+                    generator.writeRaw('\n');
+                    if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    void writeCsv(Stream<DiaryDetailDto> diaries, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM 을 붙인다
+        writer.write('\uFEFF');
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        int[] rows = {0};
+        diaries.forEach(diary -> {
+            try {
+                writer.write(String.valueOf(diary.getId()));
+                writer.write(',');
+                writer.write(diary.getDate());
+                writer.write(',');
+                writer.write(diary.getMood());
+                writer.write(',');
+                writer.write(String.valueOf(diary.getMoodStatus()));
+                writer.write(',');
+                writer.write(String.valueOf(diary.getCreatedAt()));
+                writer.write(',');
+                writer.write(csvField(diary.getContent()));
+                writer.write("\r\n");
+                if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    // RFC 4180: 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
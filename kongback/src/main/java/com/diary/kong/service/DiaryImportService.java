@@ -0,0 +1,226 @@
+package com.diary.kong.service;
+
+import com.diary.kong.cache.UserCache;
+import com.diary.kong.common.CustomException;
+import com.diary.kong.dto.DiaryImportProgressDto;
+import com.diary.kong.dto.DiarySaveDto;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.model.User;
+import com.diary.kong.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 다른 앱에서 옮겨 오는 일기를 한 번에 가져온다.
+ * 요청 본문(NDJSON 또는 JSON 배열)을 스트리밍으로 읽어 batch-size 단위로 커밋하고,
+ * 각 배치는 Hibernate JDBC 배치 insert 로 저장된다 (Diary.id 는 pooled 테이블 생성기).
+ * 로컬 분류기가 확신하지 못한 일기는 PENDING 으로만 저장하고, 감정 분석은 워커 스위퍼가 나중에 가져간다.
+ */
+@Slf4j
+@Service
+public class DiaryImportService {
+
+    private final UserCache userCache;
+    private final UserRepository userRepository;
+    private final MoodAnalysisService moodAnalysisService;
+    private final MoodStatService moodStatService;
+    private final DiarySearchService diarySearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader entryReader;
+    private final int batchSize;
+    private final int maxEntries;
+
+    private final Counter importedRows;
+    private final Counter skippedRows;
+    private final Timer batchTimer;
+
+    public DiaryImportService(UserCache userCache,
+        UserRepository userRepository,
+        MoodAnalysisService moodAnalysisService,
+        MoodStatService moodStatService,
+        DiarySearchService diarySearchService,
+        ApplicationEventPublisher eventPublisher,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${diary.import.batch-size:500}") int batchSize,
+        @Value("${diary.import.max-entries:50000}") int maxEntries) {
+        this.userCache = userCache;
+        this.userRepository = userRepository;
+        this.moodAnalysisService = moodAnalysisService;
+        this.moodStatService = moodStatService;
+        this.diarySearchService = diarySearchService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entryReader = objectMapper.readerFor(DiarySaveDto.class);
+        this.batchSize = batchSize;
+        this.maxEntries = maxEntries;
+        this.importedRows = Counter.builder("diary.import.rows").tag("result", "imported").register(meterRegistry);
+        this.skippedRows = Counter.builder("diary.import.rows").tag("result", "skipped").register(meterRegistry);
+        this.batchTimer = Timer.builder("diary.import.batch").register(meterRegistry);
+    }
+
+    // ✅ 배치가 커밋될 때마다 progress 로 진행 상황을 알리고, 최종 결과(done = true)를 반환한다
+    public DiaryImportProgressDto importDiaries(Long userId, InputStream body, Consumer<DiaryImportProgressDto> progress) {
+        userCache.findById(userId)
+            .orElseThrow(() -> new CustomException(999, "사용자를 찾을 수 없습니다."));
+
+        ImportState state = new ImportState(System.nanoTime());
+        List<DiarySaveDto> chunk = new ArrayList<>(batchSize);
+
+        String truncated = null;
+        try (MappingIterator<DiarySaveDto> entries = entryReader.readValues(body)) {
+            long read = 0;
+            while (entries.hasNextValue()) {
+                if (read++ == maxEntries) {
+                    truncated = "최대 " + maxEntries + "건까지 가져올 수 있습니다. 나머지는 건너뛰었습니다.";
+                    break;
+                }
+                chunk.add(entries.nextValue());
+                if (chunk.size() == batchSize) {
+                    saveChunk(userId, chunk, state);
+                    chunk.clear();
+                    progress.accept(state.snapshot(false, null));
+                }
+            }
+            if (!chunk.isEmpty()) {
+                saveChunk(userId, chunk, state);
+                progress.accept(state.snapshot(false, null));
+            }
+        } catch (IOException | RuntimeException e) {
+            // 이미 커밋된 배치는 유지된다. 어디까지 들어갔는지 알 수 있게 결과에 담아 돌려준다
+            // 원인(파서 위치, SQL 오류 등)은 로그에만 남기고 클라이언트에는 일반 메시지를 준다
+            log.warn("일기 가져오기 중단 userId={}, imported={}", userId, state.imported, e);
+            return state.finish("가져오기가 중단되었습니다. 형식을 확인한 뒤 남은 일기를 다시 보내 주세요.");
+        }
+
+        DiaryImportProgressDto result = state.finish(truncated);
+        log.info("일기 가져오기 완료 userId={}, imported={}, skipped={}, {} rows/s",
+            userId, result.getImported(), result.getSkipped(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    // 건수는 배치가 커밋된 뒤에만 반영한다 (롤백된 배치가 가져온 것으로 잡히지 않게)
+    private void saveChunk(Long userId, List<DiarySaveDto> chunk, ImportState state) {
+        ChunkCounts saved = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            long imported = 0;
+            long skipped = 0;
+            long pendingMood = 0;
+            User user = userRepository.getReferenceById(userId);
+            LocalDateTime now = LocalDateTime.now();
+            Set<YearMonth> months = new HashSet<>();
+            Map<YearMonth, Map<Mood, Long>> moodCounts = new HashMap<>();
+
+            for (DiarySaveDto entry : chunk) {
+                Optional<LocalDate> date = DiaryService.parseDiaryDate(entry.getDate());
+                if (StringUtils.isEmpty(entry.getContent()) || date.isEmpty()) {
+                    skipped++;
+                    continue;
+                }
+
+                Optional<Mood> localMood = moodAnalysisService.classifyLocally(entry.getContent())
+                    .flatMap(Mood::fromLabel);
+                Diary diary = Diary.builder()
+                    .content(entry.getContent())
+                    .mood(localMood.orElse(null))
+                    .moodStatus(localMood.isPresent() ? MoodStatus.COMPLETED : MoodStatus.PENDING)
+                    .date(date.get())
+                    .createdAt(now)
+                    .user(user)
+                    .build();
+                entityManager.persist(diary);
+                diarySearchService.index(diary);  // 검색 토큰도 같은 배치 insert 로 들어간다
+
+                imported++;
+                if (localMood.isEmpty()) {
+                    pendingMood++;
+                } else {
+                    moodCounts.computeIfAbsent(YearMonth.from(date.get()), m -> new EnumMap<>(Mood.class))
+                        .merge(localMood.get(), 1L, Long::sum);
+                }
+                months.add(YearMonth.from(date.get()));
+            }
+
+            // 배치 단위로 flush 하고 비워서 영속성 컨텍스트가 가져오기 크기만큼 커지지 않게 한다
+            entityManager.flush();
+            entityManager.clear();
+            // 감정 통계도 배치 단위로 (월, 감정) 별 한 번씩만 더한다
+            moodCounts.forEach((month, counts) ->
+                counts.forEach((mood, count) -> moodStatService.add(userId, month, mood, count)));
+            months.forEach(month -> eventPublisher.publishEvent(new DiaryChangedEvent(userId, month.atDay(1))));
+            return new ChunkCounts(imported, skipped, pendingMood);
+        }));
+        state.imported += saved.imported();
+        state.skipped += saved.skipped();
+        state.pendingMood += saved.pendingMood();
+        state.batches++;
+        importedRows.increment(saved.imported());
+        skippedRows.increment(saved.skipped());
+    }
+
+    private record ChunkCounts(long imported, long skipped, long pendingMood) {
+    }
+
+    private static class ImportState {
+        private final long startedAt;
+        private long imported;
+        private long skipped;
+        private long pendingMood;
+        private int batches;
+
+        private ImportState(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private DiaryImportProgressDto snapshot(boolean done, String error) {
+            long elapsedNanos = Math.max(System.nanoTime() - startedAt, 1);
+            return DiaryImportProgressDto.builder()
+                .imported(imported)
+                .skipped(skipped)
+                .pendingMood(pendingMood)
+                .batches(batches)
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(imported * 1_000_000_000.0 / elapsedNanos)
+                .done(done)
+                .error(error)
+                .build();
+        }
+
+        private DiaryImportProgressDto finish(String error) {
+            return snapshot(true, error);
+        }
+    }
+}
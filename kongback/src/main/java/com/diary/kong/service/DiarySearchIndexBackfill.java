@@ -0,0 +1,90 @@
+package com.diary.kong.service;
+
+import com.diary.kong.config.VirtualThreads;
+import com.diary.kong.repository.DiaryRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 검색 색인(diary_token)이 도입되기 전에 쓰인 일기의 토큰을 기동 후 백그라운드 스레드에서 채운다 (기동을 막지 않는다).
+ * search_indexed = false 인 일기만 id 순으로 batch-size 씩 읽고 배치마다 커밋하므로, 중간에 멈춰도 다음 기동 때 이어서 한다.
+ */
+@Slf4j
+@Component
+public class DiarySearchIndexBackfill implements ApplicationRunner {
+
+    private final DiaryRepository diaryRepository;
+    private final DiarySearchService diarySearchService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private volatile boolean stopping;
+
+    public DiarySearchIndexBackfill(DiaryRepository diaryRepository,
+        DiarySearchService diarySearchService,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        @Value("${diary.search.backfill-on-startup:true}") boolean enabled,
+        @Value("${diary.search.backfill-batch-size:500}") int batchSize) {
+        this.diaryRepository = diaryRepository;
+        this.diarySearchService = diarySearchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        VirtualThreads.factory(false, "search-backfill-").newThread(this::backfill).start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    void backfill() {
+        long indexed = 0;
+        Long after = 0L;
+        try {
+            List<Long> ids;
+            do {
+                ids = diaryRepository.findUnindexedIds(after, PageRequest.ofSize(batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                List<Long> page = ids;
+                transactionTemplate.executeWithoutResult(status -> {
+                    // index 가 searchIndexed 를 켜므로 토큰이 없는 빈 본문 일기도 다음 기동 때 다시 읽지 않는다
+                    diaryRepository.findAllById(page).forEach(diarySearchService::index);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                indexed += ids.size();
+                after = ids.get(ids.size() - 1);
+            } while (ids.size() == batchSize && !stopping);
+        } catch (RuntimeException e) {
+            // 다른 노드가 같은 일기를 동시에 채운 경우 등: 기동은 막지 않고 다음 기동 때 이어서 한다
+            log.warn("검색 색인 backfill 중단 (after id={}): {}", after, e.getMessage());
+        }
+
+        if (indexed > 0) {
+            log.info("검색 색인이 없던 일기 {}건을 색인했습니다.", indexed);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.CustomException;
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.dto.DiarySearchHitDto;
+import com.diary.kong.dto.DiarySearchPageDto;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.DiaryToken;
+import com.diary.kong.model.DiaryTokenId;
+import com.diary.kong.repository.DiaryRepository;
+import com.diary.kong.repository.DiaryTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 일기 본문 검색: 사용자별 bigram 역색인(diary_token)으로 후보를 좁히고,
+ * 후보 본문에서 검색어 구간이 실제로 들어 있는지 확인한 뒤 BM25 방식으로 점수를 매긴다.
+ * 색인은 일기를 바꾸는 쪽 트랜잭션에서 index / reindex / remove 로 함께 갱신된다.
+ */
+@Service
+public class DiarySearchService {
+
+    static final int MAX_QUERY_LENGTH = 50;
+    static final int MAX_PAGE_SIZE = 100;
+
+    // BM25 파라미터 (일반적인 기본값)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final DiaryTokenRepository diaryTokenRepository;
+    private final DiaryRepository diaryRepository;
+    private final EntityManager entityManager;
+    private final int maxCandidates;
+    private final Timer searchTimer;
+
+    public DiarySearchService(DiaryTokenRepository diaryTokenRepository,
+        DiaryRepository diaryRepository,
+        EntityManager entityManager,
+        MeterRegistry meterRegistry,
+        @Value("${diary.search.max-candidates:2000}") int maxCandidates) {
+        this.diaryTokenRepository = diaryTokenRepository;
+        this.diaryRepository = diaryRepository;
+        this.entityManager = entityManager;
+        this.maxCandidates = maxCandidates;
+        this.searchTimer = Timer.builder("diary.search").register(meterRegistry);
+    }
+
+    // ✅ 새 일기의 토큰을 넣는다 (persist 라서 JDBC 배치로 묶인다)
+    // 색인 도입 전 일기도 수정되거나 backfill 되면 여기서 표시가 바뀐다 (영속 상태라 dirty checking 으로 반영)
+    @Transactional
+    public void index(Diary diary) {
+        diary.setSearchIndexed(true);
+        Long userId = diary.getUser().getId();
+        BigramTokenizer.tokenize(diary.getContent()).forEach((token, tf) -> entityManager.persist(
+            new DiaryToken(new DiaryTokenId(userId, token, diary.getId()), (short) Math.min(tf, Short.MAX_VALUE))));
+    }
+
+    @Transactional
+    public void reindex(Diary diary) {
+        diaryTokenRepository.deleteByDiaryId(diary.getId());
+        index(diary);
+    }
+
+    @Transactional
+    public void remove(Long diaryId) {
+        diaryTokenRepository.deleteByDiaryId(diaryId);
+    }
+
+    @Transactional(readOnly = true)
+    public DiarySearchPageDto search(Long userId, String query, int page, int size) {
+        if (query == null || query.length() > MAX_QUERY_LENGTH) {
+            throw new CustomException(999, "검색어는 " + MAX_QUERY_LENGTH + "자 이하로 입력하세요.");
+        }
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(BigramTokenizer.terms(query)));
+        if (terms.isEmpty()) {
+            throw new CustomException(999, "검색어를 입력하세요.");
+        }
+        int pageIndex = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        return searchTimer.record(() -> {
+            List<Long> candidates = findCandidates(userId, terms);
+            List<DiarySearchHitDto> hits = candidates.isEmpty()
+                ? List.of()
+                : rank(diaryRepository.findViewsByIds(userId, candidates), terms);
+
+            int from = (int) Math.min((long) pageIndex * pageSize, hits.size());
+            int to = Math.min(from + pageSize, hits.size());
+            return DiarySearchPageDto.builder()
+                .items(new ArrayList<>(hits.subList(from, to)))
+                .total(hits.size())
+                .page(pageIndex)
+                .size(pageSize)
+                .truncated(candidates.size() >= maxCandidates)
+                .build();
+        });
+    }
+
+    // ✅ 두 글자 이상 구간의 bigram 을 모두 가진 일기. 한 글자 구간만 있으면 그 글자로 시작하는 토큰으로 찾는다
+    //    (나머지 한 글자 구간은 rank 에서 본문으로 확인한다)
+    private List<Long> findCandidates(Long userId, List<String> terms) {
+        Set<String> bigrams = new LinkedHashSet<>();
+        for (String term : terms) {
+            List<String> tokens = BigramTokenizer.tokensOf(term);
+            bigrams.addAll(tokens.subList(0, tokens.size() - 1));  // 마지막 한 글자 토큰은 구간 끝에서만 생기므로 제외
+        }
+
+        PageRequest limit = PageRequest.ofSize(maxCandidates);
+        if (!bigrams.isEmpty()) {
+            return diaryTokenRepository.findDiaryIdsWithAllTokens(userId, bigrams, bigrams.size(), limit);
+        }
+        return diaryTokenRepository.findDiaryIdsWithTokenPrefix(userId, terms.get(0) + "%", limit);
+    }
+
+    /**
+     * 후보 중 모든 검색어 구간을 본문에 실제로 포함한 일기만 남겨 점수순(같으면 최신순)으로 정렬한다.
+     * bigram 이 모두 있어도 서로 떨어져 있으면 ("산책길" 검색에 "산책 ... 책길") 여기서 걸러진다.
+     * 모든 결과가 모든 구간을 포함하므로 idf 는 같고, 등장 횟수와 본문 길이(BM25 정규화)로 순위가 갈린다.
+     */
+    static List<DiarySearchHitDto> rank(List<DiaryDetailDto> diaries, List<String> terms) {
+        List<int[]> frequencies = new ArrayList<>(diaries.size());
+        List<DiaryDetailDto> matched = new ArrayList<>(diaries.size());
+        List<Integer> lengths = new ArrayList<>(diaries.size());
+        long totalLength = 0;
+
+        for (DiaryDetailDto diary : diaries) {
+            String content = diary.getContent() == null ? "" : BigramTokenizer.normalize(diary.getContent());
+            int[] tf = new int[terms.size()];
+            boolean all = true;
+            for (int i = 0; i < terms.size() && all; i++) {
+                tf[i] = occurrences(content, terms.get(i));
+                all = tf[i] > 0;
+            }
+            if (all) {
+                matched.add(diary);
+                frequencies.add(tf);
+                lengths.add(content.length());
+                totalLength += content.length();
+            }
+        }
+        if (matched.isEmpty()) {
+            return List.of();
+        }
+
+        double averageLength = Math.max((double) totalLength / matched.size(), 1);
+        List<DiarySearchHitDto> hits = new ArrayList<>(matched.size());
+        for (int d = 0; d < matched.size(); d++) {
+            DiaryDetailDto diary = matched.get(d);
+            double lengthNorm = 1 - B + B * (lengths.get(d) / averageLength);
+            double score = 0;
+            for (int i = 0; i < terms.size(); i++) {
+                int tf = frequencies.get(d)[i];
+                // 긴 구간일수록 구체적인 검색어이므로 글자 수로 가중한다
+                score += terms.get(i).codePointCount(0, terms.get(i).length()) * tf * (K1 + 1) / (tf + K1 * lengthNorm);
+            }
+            hits.add(new DiarySearchHitDto(diary, Math.round(score * 1000) / 1000.0));
+        }
+
+        hits.sort(Comparator.comparingDouble(DiarySearchHitDto::getScore).reversed()
+            .thenComparing((DiarySearchHitDto hit) -> hit.getDiary().getDate(), Comparator.reverseOrder())
+            .thenComparing((DiarySearchHitDto hit) -> hit.getDiary().getId(), Comparator.reverseOrder()));
+        return hits;
+    }
+
+    private static int occurrences(String content, String term) {
+        int count = 0;
+        for (int at = content.indexOf(term); at >= 0; at = content.indexOf(term, at + term.length())) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,23 +1,35 @@
 package com.diary.kong.service;
 
 
+import com.diary.kong.cache.MonthVersionStamps;
+import com.diary.kong.cache.MonthlyDiaryCache;
+import com.diary.kong.cache.UserCache;
 import com.diary.kong.common.CustomException;
+import com.diary.kong.dto.DiaryCursor;
 import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.dto.DiaryPageDto;
 import com.diary.kong.dto.DiarySaveDto;
+import com.diary.kong.dto.DiaryMoodDto;
 import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
 import com.diary.kong.model.User;
 import com.diary.kong.repository.DiaryRepository;
 import com.diary.kong.repository.UserRepository;
 import io.micrometer.common.util.StringUtils;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -26,66 +38,117 @@ public class DiaryService {
 
     private final DiaryRepository diaryRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final MonthlyDiaryCache monthlyDiaryCache;
+    private final MonthVersionStamps monthVersionStamps;
     private final MoodAnalysisService moodAnalysisService;
+    private final MoodStatService moodStatService;
+    private final DiarySearchService diarySearchService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Transactional
     public DiaryDetailDto createDiary(Long userId, DiarySaveDto diarySaveDto) {
-        User user = userRepository.findById(userId)
+        // ✅ 존재 확인은 사용자 캐시로 하고, 연관관계에는 select 없는 프록시만 건다
+        User user = userCache.findById(userId)
+            .map(cached -> userRepository.getReferenceById(cached.getId()))
             .orElseThrow(() -> new CustomException(999, "사용자를 찾을 수 없습니다."));
 
-        String mood = moodAnalysisService.analyzeMood(diarySaveDto.getContent());
+        if (StringUtils.isEmpty(diarySaveDto.getContent())) {
+            throw new CustomException(999, "내용이 존재하지 않습니다.");
+        }
 
+        LocalDate date = parseDate(diarySaveDto.getDate());
 
-        if(StringUtils.isEmpty(diarySaveDto.getDate())){
-            diarySaveDto.setDate(LocalDate.now().toString().formatted(DateTimeFormatter.ofPattern("yyyyMMdd")));
-        }
+        // ✅ 로컬 분류기가 확신하면 바로 완료, 아니면 커밋 이후 워커가 분석해서 채운다
+        Optional<Mood> localMood = moodAnalysisService.classifyLocally(diarySaveDto.getContent())
+            .flatMap(Mood::fromLabel);
 
         Diary diary = Diary.builder()
             .content(diarySaveDto.getContent())
-            .mood(mood)
-            .date(diarySaveDto.getDate())
+            .mood(localMood.orElse(null))
+            .moodStatus(localMood.isPresent() ? MoodStatus.COMPLETED : MoodStatus.PENDING)
+            .date(date)
             .createdAt(LocalDateTime.now())
             .user(user)
             .build();
 
         Diary savedDiary = diaryRepository.save(diary);
+        diarySearchService.index(savedDiary);
+        if (savedDiary.getMoodStatus() == MoodStatus.PENDING) {
+            eventPublisher.publishEvent(new MoodAnalysisRequestedEvent(savedDiary.getId()));
+        } else {
+            moodStatService.increment(userId, savedDiary.getDate(), savedDiary.getMood());
+        }
+        eventPublisher.publishEvent(new DiaryChangedEvent(userId, savedDiary.getDate()));
 
-        return DiaryDetailDto.builder()
-            .id(savedDiary.getId())
-            .content(savedDiary.getContent())
-            .mood(savedDiary.getMood())
-            .date(savedDiary.getDate())
-            .createdAt(savedDiary.getCreatedAt())
-            .build();
+        return DiaryDetailDto.from(savedDiary);
     }
 
+    // ✅ 로그인한 사용자의 일기만 조회된다 (남의 일기 id 는 없는 일기와 같게 응답)
+    @Transactional(readOnly = true)
+    public DiaryMoodDto getMoodStatus(Long diaryId) {
+        return diaryRepository.findMoodView(diaryId, currentUserId())
+            .orElseThrow(() -> new CustomException(999,"일기를 찾을 수 없습니다."));
+    }
+
+
+    // ✅ 월별 조회의 ETag 기준. 목록보다 먼저 읽어야 새 버전에 오래된 목록이 붙지 않는다
+    public long getMonthVersion(Long userId, String yearMonth) {
+        return monthVersionStamps.current(userId, parseYearMonth(yearMonth));
+    }
 
+    // ✅ 달력 화면이 가장 자주 부르는 조회: (userId, 연월) 캐시 + 동시 미스 합치기
     public List<DiaryDetailDto> getDiariesByMonth(Long userId, String yearMonth) {
-        int year = Integer.parseInt(yearMonth.substring(0, 4));
-        int month = Integer.parseInt(yearMonth.substring(4, 6));
-
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        String formattedStartDate = startDate.format(formatter);
-        String formattedEndDate = endDate.format(formatter);
-
-        return diaryRepository.findByUserIdAndDateBetween(userId, formattedStartDate, formattedEndDate)
-            .stream()
-            .map(diary -> new DiaryDetailDto(
-                diary.getId(),
-                diary.getContent(),
-                diary.getMood(),
-                diary.getDate(),
-                diary.getCreatedAt()
-            ))
-            .collect(Collectors.toList());
+        return getDiariesByMonth(userId, yearMonth, MonthVersionStamps.UNKNOWN);
     }
 
+    public List<DiaryDetailDto> getDiariesByMonth(Long userId, String yearMonth, long version) {
+        YearMonth month = parseYearMonth(yearMonth);
+        return monthlyDiaryCache.get(userId, month, version, () -> findDiariesByMonth(userId, month));
+    }
+
+    private static YearMonth parseYearMonth(String yearMonth) {
+        return YearMonth.of(Integer.parseInt(yearMonth.substring(0, 4)), Integer.parseInt(yearMonth.substring(4, 6)));
+    }
+
+    private List<DiaryDetailDto> findDiariesByMonth(Long userId, YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        return diaryRepository.findMonthView(userId, startDate, endDate);
+    }
+
+    // ✅ 전체 목록은 키셋 페이지로: 커서 이후 size+1 건만 읽어 다음 페이지 존재 여부를 판단한다
+    public DiaryPageDto getDiaryPage(Long userId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        DiaryCursor after;
+        try {
+            after = StringUtils.isEmpty(cursor) ? DiaryCursor.START : DiaryCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            throw new CustomException(999, "잘못된 커서입니다.");
+        }
+
+        List<DiaryDetailDto> rows = diaryRepository.findPageBefore(userId, after.date(), after.id(),
+            PageRequest.ofSize(pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return DiaryPageDto.builder().items(rows).build();
+        }
+
+        List<DiaryDetailDto> items = rows.subList(0, pageSize);
+        return DiaryPageDto.builder()
+            .items(items)
+            .nextCursor(DiaryCursor.of(items.get(pageSize - 1)).encode())
+            .build();
+    }
+
+    // ✅ 잠그고 읽는다: 전체 컬럼을 다시 쓰므로, 그 사이 워커가 반영한 감정 결과를 PENDING 으로 되돌리지 않게 한다
     @Transactional
     public DiaryDetailDto updateDiary(Long diaryId, DiarySaveDto diarySaveDto) {
-        Diary diary = diaryRepository.findById(diaryId)
+        Diary diary = diaryRepository.findByIdForUpdate(diaryId)
             .orElseThrow(() -> new CustomException(999,"일기를 찾을 수 없습니다."));
 
         verifyOwnership(diary.getUser().getId());
@@ -94,33 +157,63 @@ public class DiaryService {
         diary.setContent(diarySaveDto.getContent());
 
         Diary savedDiary = diaryRepository.save(diary);
+        diarySearchService.reindex(savedDiary);
+        eventPublisher.publishEvent(new DiaryChangedEvent(savedDiary.getUser().getId(), savedDiary.getDate()));
 
-        return DiaryDetailDto.builder()
-            .id(savedDiary.getId())
-            .content(savedDiary.getContent())
-            .mood(savedDiary.getMood())
-            .date(savedDiary.getDate())
-            .createdAt(savedDiary.getCreatedAt())
-            .build();
+        return DiaryDetailDto.from(savedDiary);
     }
 
     @Transactional
     public void deleteDiary(Long diaryId) {
-        Diary diary = diaryRepository.findById(diaryId)
+        Diary diary = diaryRepository.findByIdForUpdate(diaryId)
             .orElseThrow(() -> new CustomException(999,"일기를 찾을 수 없습니다."));
 
         verifyOwnership(diary.getUser().getId());
 
+        diarySearchService.remove(diaryId);
         diaryRepository.delete(diary);
+        if (diary.getMoodStatus() == MoodStatus.COMPLETED && diary.getMood() != null) {
+            moodStatService.decrement(diary.getUser().getId(), diary.getDate(), diary.getMood());
+        }
+        eventPublisher.publishEvent(new DiaryChangedEvent(diary.getUser().getId(), diary.getDate()));
     }
 
-    private void verifyOwnership(Long diaryUserId) {
-        Long currentUserId = Long.valueOf(SecurityContextHolder.getContext().getAuthentication().getName());
-        if (!currentUserId.equals(diaryUserId)) {
+    // ✅ 날짜가 없으면 오늘, "yyyy-MM-dd" 와 "yyyyMMdd" 형식을 받는다
+    private LocalDate parseDate(String date) {
+        if (StringUtils.isEmpty(date)) {
+            return LocalDate.now();
+        }
+        return parseDiaryDate(date)
+            .orElseThrow(() -> new CustomException(999, "날짜 형식이 올바르지 않습니다. (yyyy-MM-dd)"));
+    }
+
+    static Optional<LocalDate> parseDiaryDate(String date) {
+        if (StringUtils.isEmpty(date)) {
+            return Optional.empty();
+        }
+        String value = date.trim();
+        try {
+            return Optional.of(LocalDate.parse(value, value.length() == 8
+                ? DateTimeFormatter.BASIC_ISO_DATE : DateTimeFormatter.ISO_LOCAL_DATE));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    // ✅ 인증 주체 이름은 토큰의 email 이므로 사용자 캐시로 id 를 찾아 비교한다
+    // ✅ 경로의 userId 처럼 요청이 가리키는 사용자가 로그인한 사용자인지 확인한다
+    public void verifyOwnership(Long diaryUserId) {
+        if (!diaryUserId.equals(currentUserId())) {
             throw new CustomException(999, "권한이 없습니다.");
         }
     }
 
+    // 인증 주체 이름은 토큰의 email
+    private Long currentUserId() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userCache.findByEmail(email).map(User::getId).orElse(null);
+    }
+
 
 
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.CustomException;
+
+// ✅ ChatModel 을 호출했지만 오류를 돌려주었거나 제한 시간 안에 답하지 않은 경우 (이 일기의 시도 횟수를 쓴다)
+public class LlmCallFailedException extends CustomException {
+
+    public LlmCallFailedException(String message, Throwable cause) {
+        super(502, message);
+        initCause(cause);
+    }
+}
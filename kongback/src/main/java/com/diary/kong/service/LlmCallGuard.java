@@ -0,0 +1,158 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.CircuitBreaker;
+import com.diary.kong.common.EndpointTag;
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.config.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ChatModel 호출 격리: 전용 스레드 풀(벌크헤드), 호출별 제한 시간, 회로 차단기.
+ * 느린 OpenAI 응답이 호출한 스레드를 무한정 붙잡지 않게 한다.
+ * 호출하는 쪽은 감정 분석 워커뿐이라 벌크헤드 거절(TooManyRequestsException)도 HTTP 429 로 나가지 않는다.
+ * 회로 차단(LlmUnavailableException)과 벌크헤드 거절은 워커가 시도 횟수를 되돌려 retryAfterMillis() 뒤로 미루고,
+ * 호출 자체의 실패와 시간 초과(LlmCallFailedException)는 시도 횟수를 써서 백오프 뒤 재시도, 한도를 넘으면 FAILED 로 끝낸다.
+ */
+@Slf4j
+@Component
+public class LlmCallGuard {
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final long timeoutMs;
+
+    private final Counter successCalls;
+    private final Counter failedCalls;
+    private final Counter timedOutCalls;
+    private final Counter rejectedCalls;
+    private final Counter shortCircuitedCalls;
+
+    // (outcome, endpoint) 별 호출 타이머: 호출마다 Timer.builder().register() 로 조회하지 않도록 한 번만 등록한다
+    private final Map<String, Map<String, Timer>> callTimers = new ConcurrentHashMap<>();
+
+    public LlmCallGuard(MeterRegistry meterRegistry,
+        @Value("${mood.llm.max-concurrent:8}") int maxConcurrent,
+        @Value("${mood.llm.queue-capacity:32}") int queueCapacity,
+        @Value("${mood.llm.timeout-ms:15000}") long timeoutMs,
+        @Value("${mood.llm.circuit.window-size:20}") int windowSize,
+        @Value("${mood.llm.circuit.minimum-calls:10}") int minimumCalls,
+        @Value("${mood.llm.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+        @Value("${mood.llm.circuit.open-duration-ms:30000}") long openDurationMs,
+        @Value("${mood.llm.circuit.half-open-permits:3}") int halfOpenPermits,
+        @Value(VirtualThreads.ENABLED) boolean virtualThreads) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+
+        // ✅ 벌크헤드 크기는 OpenAI 동시 호출 한도라서 가상 스레드 모드에서도 그대로 유지한다
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            VirtualThreads.factory(virtualThreads, "llm-call-"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+            openDurationMs, halfOpenPermits, state -> {
+                log.warn("LLM 회로 차단기 상태 변경: {}", state);
+                meterRegistry.counter("llm.circuit.transitions", "state", state.name().toLowerCase()).increment();
+            });
+
+        this.successCalls = meterRegistry.counter("llm.calls", "outcome", "success");
+        this.failedCalls = meterRegistry.counter("llm.calls", "outcome", "failure");
+        this.timedOutCalls = meterRegistry.counter("llm.calls", "outcome", "timeout");
+        this.rejectedCalls = meterRegistry.counter("llm.calls", "outcome", "rejected");
+        this.shortCircuitedCalls = meterRegistry.counter("llm.calls", "outcome", "short_circuited");
+
+        Gauge.builder("llm.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+            .description("0=closed, 1=open, 2=half_open").register(meterRegistry);
+        Gauge.builder("llm.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("llm.bulkhead.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public <T> T execute(Callable<T> call) {
+        // ✅ 호출한 스레드에서 endpoint 를 읽어 둔다 (실제 호출은 llm-call 스레드에서 실행된다)
+        String endpoint = EndpointTag.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "short_circuited";
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                shortCircuitedCalls.increment();
+                throw new LlmUnavailableException("감정 분석 서비스가 일시적으로 중단되었습니다.");
+            }
+
+            Future<T> future;
+            try {
+                future = executor.submit(call);
+            } catch (RejectedExecutionException e) {
+                circuitBreaker.releasePermission();
+                rejectedCalls.increment();
+                outcome = "rejected";
+                throw new TooManyRequestsException("감정 분석 요청이 많습니다. 잠시 후 다시 시도하세요.", 1);
+            }
+
+            try {
+                T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+                circuitBreaker.onSuccess();
+                successCalls.increment();
+                outcome = "success";
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                circuitBreaker.onFailure();
+                timedOutCalls.increment();
+                outcome = "timeout";
+                throw new LlmCallFailedException("감정 분석 응답 시간이 초과되었습니다.", e);
+            } catch (ExecutionException e) {
+                circuitBreaker.onFailure();
+                failedCalls.increment();
+                outcome = "failure";
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                log.warn("LLM 호출 실패: {}", cause.getMessage());
+                throw new LlmCallFailedException("감정 분석 호출에 실패했습니다.", cause);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                circuitBreaker.releasePermission();
+                Thread.currentThread().interrupt();
+                outcome = "interrupted";
+                throw new LlmUnavailableException("감정 분석 호출이 중단되었습니다.");
+            }
+        } finally {
+            // 대기열에서 기다린 시간까지 포함한 호출자 기준 지연 (outcome 은 llm.calls 카운터와 같은 값)
+            sample.stop(callTimer(outcome, endpoint));
+        }
+    }
+
+    private Timer callTimer(String outcome, String endpoint) {
+        return callTimers.computeIfAbsent(outcome, o -> new ConcurrentHashMap<>())
+            .computeIfAbsent(endpoint, e -> Timer.builder("llm.call")
+                .tag("outcome", outcome)
+                .tag(EndpointTag.KEY, endpoint)
+                .register(meterRegistry));
+    }
+
+    public long retryAfterMillis() {
+        return circuitBreaker.remainingOpenMillis();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.CustomException;
+
+// ✅ 회로 차단 등으로 ChatModel 을 아예 호출하지 못한 경우 (일기 문제가 아니므로 시도 횟수를 쓰지 않는다)
+public class LlmUnavailableException extends CustomException {
+
+    public LlmUnavailableException(String message) {
+        super(503, message);
+    }
+}
@@ -0,0 +1,169 @@
+package com.diary.kong.service;
+
+import com.diary.kong.model.Mood;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 한국어/영어 감정 어휘(단어 및 구 n-gram)로 점수를 매기는 JVM 내 감정 분류기.
+ * 점수 차이가 충분히 벌어진 경우에만 결과를 확신하고, 나머지는 ChatModel 로 넘긴다.
+ */
+@Component
+public class LocalMoodClassifier {
+
+    private static final List<String> NEGATION_BEFORE = List.of("안 ", "안", "못 ", "못", "not ", "n't ", "never ", "no ");
+    private static final List<String> NEGATION_AFTER = List.of("지 않", "지않", "지 못", "지못", "진 않", "지는 않");
+
+    private static final List<Cue> CUES = buildCues();
+
+    public Result classify(String content) {
+        String text = content.toLowerCase(Locale.ROOT);
+        boolean[] consumed = new boolean[text.length()];
+        Map<Mood, Double> scores = new EnumMap<>(Mood.class);
+        double negated = 0;
+
+        // 긴 구(phrase)부터 매칭해서 "기대돼"가 "기대"로 한 번 더 세어지지 않게 한다
+        for (Cue cue : CUES) {
+            int from = 0;
+            int index;
+            while ((index = text.indexOf(cue.term, from)) >= 0) {
+                from = index + cue.term.length();
+                if (isConsumed(consumed, index, from) || !isWordBoundary(cue, text, index, from)) {
+                    continue;
+                }
+                markConsumed(consumed, index, from);
+
+                if (isNegated(text, index, from)) {
+                    negated += cue.weight;
+                } else {
+                    scores.merge(cue.mood, cue.weight, Double::sum);
+                }
+            }
+        }
+
+        Mood top = null;
+        double topScore = 0;
+        double secondScore = 0;
+        for (Map.Entry<Mood, Double> entry : scores.entrySet()) {
+            double score = entry.getValue();
+            if (score > topScore) {
+                secondScore = topScore;
+                topScore = score;
+                top = entry.getKey();
+            } else if (score > secondScore) {
+                secondScore = score;
+            }
+        }
+
+        if (top == null) {
+            return new Result(null, 0);
+        }
+
+        // 1등과 2등의 격차를 (1등 점수 + 평활값 + 부정 표현 점수)로 나눈 값
+        double confidence = (topScore - secondScore) / (topScore + 1.0 + negated);
+        return new Result(top, confidence);
+    }
+
+    private static boolean isConsumed(boolean[] consumed, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (consumed[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void markConsumed(boolean[] consumed, int from, int to) {
+        for (int i = from; i < to; i++) {
+            consumed[i] = true;
+        }
+    }
+
+    // ✅ 영어 단어는 "sad"가 "saddle"에 걸리지 않도록 단어 경계를 확인한다
+    private static boolean isWordBoundary(Cue cue, String text, int from, int to) {
+        if (!cue.ascii) {
+            return true;
+        }
+        boolean startOk = from == 0 || !Character.isLetter(text.charAt(from - 1));
+        boolean endOk = to == text.length() || !Character.isLetter(text.charAt(to));
+        return startOk && endOk;
+    }
+
+    // ✅ "안 좋았다", "행복하지 않았다", "not happy" 처럼 부정된 표현은 점수 대신 불확실성으로 센다
+    private static boolean isNegated(String text, int from, int to) {
+        for (String negation : NEGATION_BEFORE) {
+            int start = from - negation.length();
+            if (start >= 0 && text.startsWith(negation, start)
+                && (negation.startsWith("n'") || start == 0 || !Character.isLetter(text.charAt(start - 1)))) {
+                return true;
+            }
+        }
+
+        String after = text.substring(to, Math.min(text.length(), to + 6));
+        for (String negation : NEGATION_AFTER) {
+            if (after.contains(negation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Cue> buildCues() {
+        List<Cue> cues = new ArrayList<>();
+        add(cues, Mood.HAPPY, 3, "행복", "기쁘", "기뻐", "기뻤", "기분이 좋", "기분 좋", "happy", "great day", "so glad", "😊", "😄", "😁");
+        add(cues, Mood.HAPPY, 2, "좋았", "즐거", "즐겁", "웃었", "뿌듯", "glad", "joy", "fun");
+        add(cues, Mood.HAPPY, 1, "감사", "최고", "ㅎㅎ", "ㅋㅋ");
+        add(cues, Mood.SAD, 3, "슬프", "슬퍼", "슬펐", "우울", "울었", "속상", "sad", "cried", "depressed", "heartbroken", "😢", "😭");
+        add(cues, Mood.SAD, 2, "눈물", "서운", "ㅠㅠ", "ㅜㅜ", "unhappy");
+        add(cues, Mood.ANGRY, 3, "화가", "화났", "화나", "짜증", "열받", "빡치", "분노", "angry", "furious", "mad at", "😡", "🤬");
+        add(cues, Mood.ANGRY, 2, "억울", "어이없", "annoyed", "pissed");
+        add(cues, Mood.NEUTRAL, 3, "그냥 그랬", "그저 그랬", "별일 없", "nothing special", "just an ordinary");
+        add(cues, Mood.NEUTRAL, 2, "평범", "무난", "ordinary", "so-so", "usual");
+        add(cues, Mood.EXCITED, 3, "신나", "신났", "설레", "설렜", "기대돼", "기대된", "excited", "thrilled", "can't wait", "🎉");
+        add(cues, Mood.EXCITED, 2, "두근", "흥분", "짜릿");
+        add(cues, Mood.CALM, 3, "평온", "차분", "편안", "calm", "peaceful", "relaxed");
+        add(cues, Mood.CALM, 2, "여유", "고요", "잔잔", "힐링", "느긋");
+        add(cues, Mood.ANXIOUS, 3, "불안", "걱정", "초조", "조마조마", "두려", "anxious", "worried", "nervous");
+        add(cues, Mood.ANXIOUS, 2, "긴장", "무서", "scared");
+        add(cues, Mood.TIRED, 3, "피곤", "지쳤", "지친", "졸려", "졸렸", "녹초", "tired", "exhausted", "sleepy", "worn out");
+        add(cues, Mood.TIRED, 2, "힘들었", "야근", "잠을 못");
+        add(cues, Mood.BORED, 3, "지루", "심심", "따분", "bored", "boring");
+        add(cues, Mood.BORED, 2, "무료", "할 게 없", "할게 없");
+        add(cues, Mood.CONFUSED, 3, "혼란", "헷갈", "뭐가 뭔지", "confused", "confusing");
+        add(cues, Mood.CONFUSED, 2, "모르겠", "갈피", "복잡");
+        add(cues, Mood.HOPEFUL, 3, "희망", "잘 될 거", "잘될 거", "잘 될거", "hopeful", "optimistic");
+        add(cues, Mood.HOPEFUL, 2, "할 수 있", "다짐", "기대해");
+        add(cues, Mood.HOPEFUL, 1, "기대", "앞으로", "내일은");
+        add(cues, Mood.LONELY, 3, "외롭", "외로", "쓸쓸", "고독", "lonely");
+        add(cues, Mood.LONELY, 2, "혼자", "그립", "보고 싶", "보고싶", "alone");
+        add(cues, Mood.SURPRISED, 3, "놀랐", "깜짝", "뜻밖", "surprised", "shocked", "😮", "😲");
+        add(cues, Mood.SURPRISED, 2, "놀라", "의외", "unexpected");
+
+        cues.sort(Comparator.comparingInt((Cue cue) -> cue.term.length()).reversed());
+        return List.copyOf(cues);
+    }
+
+    private static void add(List<Cue> cues, Mood mood, double weight, String... terms) {
+        for (String term : terms) {
+            cues.add(new Cue(term, mood, weight, term.chars().allMatch(c -> c < 128)));
+        }
+    }
+
+    private record Cue(String term, Mood mood, double weight, boolean ascii) {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final Mood mood;          // 후보가 없으면 null
+        private final double confidence;  // 0 ~ 1
+    }
+}
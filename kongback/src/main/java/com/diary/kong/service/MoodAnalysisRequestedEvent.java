@@ -0,0 +1,11 @@
+package com.diary.kong.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// ✅ 일기 저장 트랜잭션이 커밋된 뒤 감정 분석 워커에 전달되는 이벤트
+@Getter
+@AllArgsConstructor
+public class MoodAnalysisRequestedEvent {
+    private final Long diaryId;
+}
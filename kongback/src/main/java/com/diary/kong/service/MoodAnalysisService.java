@@ -1,19 +1,86 @@
 package com.diary.kong.service;
 
+import com.diary.kong.cache.MoodResultCache;
 import com.diary.kong.common.CustomException;
+import com.diary.kong.config.VirtualThreads;
+import com.diary.kong.model.Mood;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 public class MoodAnalysisService {
 
+    public static final List<String> MOOD_LABELS = Arrays.stream(Mood.values()).map(Mood::name).toList();
+
     private final ChatModel chatModel;
+    private final MoodResultCache moodResultCache;
+    private final LocalMoodClassifier localMoodClassifier;
+    private final LlmCallGuard llmCallGuard;
+
+    private final Counter localResults;
+    private final Counter cachedResults;
+    private final Counter modelResults;
+
+    @Value("${mood.local.enabled:true}")
+    private boolean localEnabled;
+
+    @Value("${mood.local.confidence-threshold:0.6}")
+    private double localConfidenceThreshold;
+
+    @Value("${mood.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${mood.batch.max-size:16}")
+    private int batchMaxSize;
+
+    @Value("${mood.batch.max-wait-ms:200}")
+    private long batchMaxWaitMs;
+
+    @Value("${mood.batch.max-in-flight:4}")
+    private int batchMaxInFlight;
+
+    @Value(VirtualThreads.ENABLED)
+    private boolean virtualThreads;
+
+    private MoodBatchClassifier batchClassifier;
 
-    public MoodAnalysisService(ChatModel chatModel) {
+    public MoodAnalysisService(ChatModel chatModel, MoodResultCache moodResultCache,
+        LocalMoodClassifier localMoodClassifier, LlmCallGuard llmCallGuard, MeterRegistry meterRegistry) {
         this.chatModel = chatModel;
+        this.moodResultCache = moodResultCache;
+        this.localMoodClassifier = localMoodClassifier;
+        this.llmCallGuard = llmCallGuard;
+        this.localResults = Counter.builder("mood.analysis.results").tag("source", "local").register(meterRegistry);
+        this.cachedResults = Counter.builder("mood.analysis.results").tag("source", "cache").register(meterRegistry);
+        this.modelResults = Counter.builder("mood.analysis.results").tag("source", "model").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initBatching() {
+        if (batchEnabled) {
+            batchClassifier = new MoodBatchClassifier(this::callModel, this::generateMood,
+                batchMaxSize, batchMaxWaitMs, batchMaxInFlight, VirtualThreads.factory(virtualThreads, "mood-batch-"));
+        }
+    }
+
+    @PreDestroy
+    void shutdownBatching() {
+        if (batchClassifier != null) {
+            batchClassifier.shutdown();
+        }
     }
 
     public String analyzeMood(String content) {
@@ -22,17 +89,91 @@ public class MoodAnalysisService {
             throw new CustomException(999 , "내용이 존재하지 않습니다.");
         }
 
-        return generateMood(content);
+        Optional<String> local = classifyLocally(content);
+        if (local.isPresent()) {
+            return local.get();
+        }
+
+        String cached = moodResultCache.get(content);
+        if (cached != null) {
+            cachedResults.increment();
+            return cached;
+        }
+
+        String mood = generateMood(content);
+        modelResults.increment();
+        cacheIfLabel(content, mood);
+        return mood;
 
     }
 
+    // ✅ 배치 모드에서는 다른 일기와 묶어서 분류하고, 아니면 단건 호출 결과를 그대로 돌려준다
+    public CompletableFuture<String> analyzeMoodAsync(String content) {
+        if (batchClassifier == null) {
+            try {
+                return CompletableFuture.completedFuture(analyzeMood(content));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        if (content == null || content.isEmpty()) {
+            return CompletableFuture.failedFuture(new CustomException(999 , "내용이 존재하지 않습니다."));
+        }
+
+        Optional<String> local = classifyLocally(content);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local.get());
+        }
+
+        String cached = moodResultCache.get(content);
+        if (cached != null) {
+            cachedResults.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return batchClassifier.classify(content)
+            .thenApply(mood -> {
+                modelResults.increment();
+                cacheIfLabel(content, mood);
+                return mood;
+            });
+    }
+
+    // ✅ 확신도가 기준 이상일 때만 로컬 분류 결과를 쓰고, 나머지는 ChatModel 로 넘긴다
+    public Optional<String> classifyLocally(String content) {
+        if (!localEnabled || content == null || content.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalMoodClassifier.Result result = localMoodClassifier.classify(content);
+        if (result.getMood() == null || result.getConfidence() < localConfidenceThreshold) {
+            return Optional.empty();
+        }
+
+        localResults.increment();
+        return Optional.of(result.getMood().name());
+    }
+
+    // ✅ 형식에 맞는 응답만 캐시한다 (설명이 섞인 응답이 다른 일기에 재사용되지 않도록)
+    private void cacheIfLabel(String content, String mood) {
+        if (mood != null && MOOD_LABELS.contains(mood.trim())) {
+            moodResultCache.put(content, mood.trim());
+        }
+    }
+
 
     private String generateMood(String diffContent) {
         String prompt = createMoodPrompt(diffContent);
-        return chatModel.call(new Prompt(prompt).getContents());
+        return callModel(prompt);
+    }
+
+    // ✅ 모든 ChatModel 호출은 벌크헤드/제한 시간/회로 차단기를 거친다
+    private String callModel(String prompt) {
+        return llmCallGuard.execute(() -> chatModel.call(new Prompt(prompt).getContents()));
     }
 
-    private String createMoodPrompt(String content) {
+    String createMoodPrompt(String content) {
         return String.format("""
         당신은 최고의 감정 분석가입니다.
         아래의 일기 내용을 읽고 사용자의 기분을 분석하세요.
@@ -40,13 +181,13 @@ public class MoodAnalysisService {
         **분석 결과는 반드시 아래 형식을 따라야 합니다.**
 
         - 기분 상태를 반드시 아래의 단어 중 하나로만 응답하세요:
-        [HAPPY, SAD, ANGRY, NEUTRAL, EXCITED, CALM, ANXIOUS, TIRED, BORED, CONFUSED, HOPEFUL, LONELY, SURPRISED]
+        [%s]
 
         다른 설명 없이 정확히 해당 단어만 출력하세요.
 
         일기 내용:
         "%s"
-        """, content);
+        """, String.join(", ", MOOD_LABELS), content);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.repository.DiaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 일기 감정 분석을 요청 스레드 밖에서 처리하는 백그라운드 워커.
+ * 대기열의 원본은 DB의 PENDING 상태이므로 서버가 재시작되어도 스위퍼가 남은 일기를 다시 처리한다.
+ */
+@Slf4j
+@Component
+public class MoodAnalysisWorker {
+
+    private final DiaryRepository diaryRepository;
+    private final MoodAnalysisService moodAnalysisService;
+    private final LlmCallGuard llmCallGuard;
+    private final ThreadPoolTaskExecutor executor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MoodStatService moodStatService;
+    private final TransactionTemplate transactionTemplate;
+
+    // ✅ 같은 노드에서 한 일기를 중복 제출하지 않기 위한 처리 중 목록
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final int maxAttempts;
+    private final long leaseMs;
+    private final long retryBackoffMs;
+    private final int sweepBatchSize;
+    private final Mood fallbackMood;
+
+    public MoodAnalysisWorker(DiaryRepository diaryRepository,
+        MoodAnalysisService moodAnalysisService,
+        LlmCallGuard llmCallGuard,
+        @Qualifier("moodAnalysisExecutor") ThreadPoolTaskExecutor executor,
+        ApplicationEventPublisher eventPublisher,
+        MoodStatService moodStatService,
+        PlatformTransactionManager transactionManager,
+        @Value("${mood.async.max-attempts:5}") int maxAttempts,
+        @Value("${mood.async.lease-ms:120000}") long leaseMs,
+        @Value("${mood.async.retry-backoff-ms:10000}") long retryBackoffMs,
+        @Value("${mood.async.sweep-batch-size:100}") int sweepBatchSize,
+        @Value("${mood.async.fallback-mood:NEUTRAL}") Mood fallbackMood) {
+        this.diaryRepository = diaryRepository;
+        this.moodAnalysisService = moodAnalysisService;
+        this.llmCallGuard = llmCallGuard;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+        this.moodStatService = moodStatService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.leaseMs = leaseMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.sweepBatchSize = sweepBatchSize;
+        this.fallbackMood = fallbackMood;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMoodAnalysisRequested(MoodAnalysisRequestedEvent event) {
+        submit(event.getDiaryId());
+    }
+
+    // ✅ 재시작 직후와 주기적으로 DB에 남은 대기 일기를 다시 큐에 넣는다
+    @Scheduled(initialDelayString = "${mood.async.sweep-initial-delay-ms:5000}",
+        fixedDelayString = "${mood.async.sweep-interval-ms:30000}")
+    public void sweep() {
+        List<Long> candidates = diaryRepository.findMoodAnalysisCandidates(
+            MoodStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+
+        for (Long diaryId : candidates) {
+            if (!submit(diaryId)) {
+                break;  // 큐가 가득 찼으면 다음 스윕에서 이어서 처리
+            }
+        }
+    }
+
+    public boolean submit(Long diaryId) {
+        if (!inFlight.add(diaryId)) {
+            return true;
+        }
+
+        try {
+            executor.execute(() -> process(diaryId).whenComplete((result, e) -> inFlight.remove(diaryId)));
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(diaryId);
+            log.warn("감정 분석 큐가 가득 찼습니다. 다음 스윕에서 재시도합니다. diaryId={}", diaryId);
+            return false;
+        }
+    }
+
+    // ✅ 배치 모드에서는 결과를 기다리지 않고 워커 스레드를 바로 돌려준다
+    CompletableFuture<Void> process(Long diaryId) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (diaryRepository.claimMoodAnalysis(diaryId, MoodStatus.PENDING, now, now.plus(Duration.ofMillis(leaseMs))) == 0) {
+                return CompletableFuture.completedFuture(null);  // 이미 처리되었거나 다른 노드가 처리 중
+            }
+
+            Diary diary = diaryRepository.findById(diaryId).orElse(null);
+            if (diary == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            return moodAnalysisService.analyzeMoodAsync(diary.getContent())
+                .handle((mood, e) -> {
+                    Optional<Mood> parsed = e == null ? Mood.fromLabel(mood) : Optional.empty();
+                    if (parsed.isPresent()) {
+                        completeMood(diary, parsed.get());
+                        publishChanged(diary);
+                    } else if (e == null) {
+                        // 라벨 목록 밖의 응답은 저장할 수 없으므로 실패로 보고 재시도한다
+                        handleFailure(diary, new IllegalStateException("Unknown mood label: " + mood));
+                    } else {
+                        handleFailure(diary, e instanceof CompletionException ? e.getCause() : e);
+                    }
+                    return null;
+                });
+        } catch (Exception e) {
+            log.error("감정 분석 작업 처리 중 오류가 발생했습니다. diaryId={}", diaryId, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // ✅ 결과 반영과 감정 통계 증가를 한 트랜잭션으로: 이미 끝난(또는 삭제된) 일기면 둘 다 하지 않는다
+    private void completeMood(Diary diary, Mood mood) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (diaryRepository.updateMoodResult(diary.getId(), mood, MoodStatus.COMPLETED) > 0) {
+                moodStatService.increment(diary.getUser().getId(), diary.getDate(), mood);
+            }
+        });
+    }
+
+    private void handleFailure(Diary diary, Throwable e) {
+        // ✅ 회로 차단/벌크헤드 거절은 일기 문제가 아니므로 시도 횟수를 되돌리고 PENDING 으로 미룬다
+        // (호출 실패와 시간 초과(LlmCallFailedException)는 이 일기의 시도로 세어 아래 백오프를 따른다)
+        if (e instanceof LlmUnavailableException || e instanceof TooManyRequestsException) {
+            long delay = Math.max(retryBackoffMs, llmCallGuard.retryAfterMillis());
+            log.info("감정 분석을 {}ms 뒤로 미룹니다. diaryId={}: {}", delay, diary.getId(), e.getMessage());
+            diaryRepository.deferMoodAnalysis(diary.getId(), LocalDateTime.now().plus(Duration.ofMillis(delay)));
+            return;
+        }
+
+        int attempts = diary.getMoodAttempts();
+
+        if (attempts >= maxAttempts) {
+            log.error("감정 분석 재시도 횟수를 초과했습니다. diaryId={}, attempts={}", diary.getId(), attempts, e);
+            diaryRepository.updateMoodResult(diary.getId(), fallbackMood, MoodStatus.FAILED);
+            publishChanged(diary);
+            return;
+        }
+
+        // 지수 백오프: 10초, 20초, 40초 ...
+        long backoff = retryBackoffMs * (1L << Math.min(attempts - 1, 10));
+        log.warn("감정 분석 실패, {}ms 후 재시도합니다. diaryId={}, attempts={}: {}",
+            backoff, diary.getId(), attempts, e.getMessage());
+        diaryRepository.rescheduleMoodAnalysis(diary.getId(), LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+    }
+
+    // ✅ 감정 결과가 반영되면 해당 월의 조회 캐시가 새 결과를 보도록 알린다
+    private void publishChanged(Diary diary) {
+        eventPublisher.publishEvent(new DiaryChangedEvent(diary.getUser().getId(), diary.getDate()));
+    }
+}
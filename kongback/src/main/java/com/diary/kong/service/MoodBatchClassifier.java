@@ -0,0 +1,246 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.config.VirtualThreads;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 여러 일기를 모아 한 번의 LLM 호출로 감정을 분류하는 마이크로 배처.
+ * 최대 maxBatchSize 개가 모이거나 maxWaitMs 가 지나면 배치를 보내고,
+ * 응답에서 번호를 찾지 못한 일기나 배치 호출 자체가 실패한 일기는 단건 호출로 대체한다.
+ * 진행 중인 배치와 대기 중인 배치는 각각 maxInFlightBatches 개까지이고, 넘치면 그 배치는 429 로 실패한다.
+ */
+@Slf4j
+public class MoodBatchClassifier {
+
+    private static final Pattern ANSWER_LINE = Pattern.compile("^\\s*(\\d+)\\s*[:.)\\-]\\s*\\[?([A-Za-z]+)\\]?\\s*$");
+
+    private final Function<String, String> modelCall;   // 프롬프트 -> 응답
+    private final Function<String, String> singleCall;  // 일기 내용 -> 감정 (단건 프롬프트)
+    private final int maxBatchSize;
+    private final long maxWaitMs;
+
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor batchExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();  // 가상 스레드에서 synchronized 는 캐리어를 고정시킨다
+    private List<PendingMood> pending = new ArrayList<>();
+    private long window;  // 배치가 나갈 때마다 증가, 예약된 타이머가 지난 창을 비우지 않게 한다
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batchCalls = new LongAdder();
+    private final LongAdder singleCalls = new LongAdder();
+    private final LongAdder fallbackItems = new LongAdder();
+    private final LongAdder rejectedItems = new LongAdder();
+    private final LongAdder queuedNanos = new LongAdder();
+
+    public MoodBatchClassifier(Function<String, String> modelCall, Function<String, String> singleCall,
+        int maxBatchSize, long maxWaitMs, int maxInFlightBatches) {
+        this(modelCall, singleCall, maxBatchSize, maxWaitMs, maxInFlightBatches,
+            VirtualThreads.factory(false, "mood-batch-"));
+    }
+
+    // batchThreads: LLM 응답을 기다리는 배치 호출 스레드 (가상 스레드 모드에서는 가상 스레드 팩토리)
+    public MoodBatchClassifier(Function<String, String> modelCall, Function<String, String> singleCall,
+        int maxBatchSize, long maxWaitMs, int maxInFlightBatches, ThreadFactory batchThreads) {
+        this.modelCall = modelCall;
+        this.singleCall = singleCall;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMs = maxWaitMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(VirtualThreads.factory(false, "mood-batch-timer-"));
+        // ✅ 대기열도 제한해야 maxInFlightBatches 가 실제 상한이 된다 (newFixedThreadPool 의 대기열은 무한)
+        this.batchExecutor = new ThreadPoolExecutor(maxInFlightBatches, maxInFlightBatches, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxInFlightBatches), batchThreads, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> classify(String content) {
+        requests.increment();
+        PendingMood item = new PendingMood(content, System.nanoTime(), new CompletableFuture<>());
+
+        lock.lock();
+        try {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                dispatchLocked();
+            } else if (pending.size() == 1) {
+                long scheduledWindow = window;
+                scheduler.schedule(() -> flushWindow(scheduledWindow), maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return item.getFuture();
+    }
+
+    private void flushWindow(long scheduledWindow) {
+        lock.lock();
+        try {
+            if (scheduledWindow == window && !pending.isEmpty()) {
+                dispatchLocked();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLocked() {
+        List<PendingMood> batch = pending;
+        pending = new ArrayList<>();
+        window++;
+        try {
+            batchExecutor.execute(() -> runBatch(batch));
+        } catch (RejectedExecutionException e) {
+            // 호출한 워커가 PENDING 으로 남겨 두면 스위퍼가 나중에 다시 시도한다
+            rejectedItems.add(batch.size());
+            TooManyRequestsException rejected = new TooManyRequestsException("감정 분석 요청이 많습니다. 잠시 후 다시 시도하세요.", 1);
+            batch.forEach(item -> item.getFuture().completeExceptionally(rejected));
+        }
+    }
+
+    private void runBatch(List<PendingMood> batch) {
+        long now = System.nanoTime();
+        batch.forEach(item -> queuedNanos.add(now - item.getEnqueuedAt()));
+
+        if (batch.size() == 1) {
+            completeWithSingleCall(batch.get(0));
+            return;
+        }
+
+        Map<Integer, String> answers;
+        try {
+            batchCalls.increment();
+            String reply = modelCall.apply(createBatchPrompt(batch));
+            answers = parseBatchReply(reply, batch.size());
+        } catch (LlmUnavailableException | TooManyRequestsException e) {
+            // 회로 차단/벌크헤드 거절은 단건 호출도 같은 결과이므로 호출을 늘리지 않고 그대로 실패시킨다
+            // (호출 자체의 실패와 시간 초과는 LlmCallFailedException 으로 오므로 아래에서 단건 호출로 대체된다)
+            batch.forEach(item -> item.getFuture().completeExceptionally(e));
+            return;
+        } catch (Exception e) {
+            log.warn("배치 감정 분석 호출 실패, 단건 호출로 대체합니다: {}", e.getMessage());
+            fallbackItems.add(batch.size());
+            batch.forEach(this::completeWithSingleCall);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            String mood = answers.get(i + 1);
+            if (mood != null) {
+                batch.get(i).getFuture().complete(mood);
+            } else {
+                fallbackItems.increment();
+                completeWithSingleCall(batch.get(i));
+            }
+        }
+    }
+
+    private void completeWithSingleCall(PendingMood item) {
+        try {
+            singleCalls.increment();
+            item.getFuture().complete(singleCall.apply(item.getContent()));
+        } catch (Exception e) {
+            item.getFuture().completeExceptionally(e);
+        }
+    }
+
+    String createBatchPrompt(List<PendingMood> batch) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            items.append(i + 1).append(". \"").append(batch.get(i).getContent().replace('\n', ' ')).append("\"\n");
+        }
+
+        return String.format("""
+        당신은 최고의 감정 분석가입니다.
+        아래에 번호가 매겨진 일기 %d개가 있습니다. 각 일기를 읽고 사용자의 기분을 분석하세요.
+
+        **분석 결과는 반드시 아래 형식을 따라야 합니다.**
+
+        - 기분 상태를 반드시 아래의 단어 중 하나로만 응답하세요:
+        [%s]
+
+        - 일기마다 한 줄씩 "번호: 기분" 형식으로만 출력하세요. 예) 1: HAPPY
+        다른 설명 없이 정확히 %d줄만 출력하세요.
+
+        일기 목록:
+        %s""", batch.size(), String.join(", ", MoodAnalysisService.MOOD_LABELS), batch.size(), items);
+    }
+
+    Map<Integer, String> parseBatchReply(String reply, int size) {
+        Map<Integer, String> answers = new HashMap<>();
+        if (reply == null) {
+            return answers;
+        }
+
+        for (String line : reply.split("\\R")) {
+            Matcher matcher = ANSWER_LINE.matcher(line);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int index = Integer.parseInt(matcher.group(1));
+            String mood = matcher.group(2).toUpperCase(Locale.ROOT);
+            if (index >= 1 && index <= size && MoodAnalysisService.MOOD_LABELS.contains(mood)) {
+                answers.putIfAbsent(index, mood);
+            }
+        }
+        return answers;
+    }
+
+    public BatchStats getStats() {
+        long total = requests.sum();
+        return new BatchStats(total, batchCalls.sum(), singleCalls.sum(), fallbackItems.sum(), rejectedItems.sum(),
+            total == 0 ? 0 : queuedNanos.sum() / total / 1_000);
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+        batchExecutor.shutdown();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class PendingMood {
+        private final String content;
+        private final long enqueuedAt;
+        private final CompletableFuture<String> future;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BatchStats {
+        private final long requests;
+        private final long batchCalls;
+        private final long singleCalls;
+        private final long fallbackItems;
+        private final long rejectedItems;    // 배치 대기열이 가득 차서 바로 실패한 일기
+        private final long avgQueuedMicros;  // 배치를 기다리느라 추가된 평균 지연
+
+        public long getLlmCalls() {
+            return batchCalls + singleCalls;
+        }
+
+        public long getCallsSaved() {
+            return requests - getLlmCalls();
+        }
+    }
+}
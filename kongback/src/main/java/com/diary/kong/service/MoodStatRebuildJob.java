@@ -0,0 +1,70 @@
+package com.diary.kong.service;
+
+import com.diary.kong.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 감정 통계 카운터를 주기적으로 일기 테이블과 대조하는 작업.
+ * 사용자마다 따로 커밋하므로 잠금은 한 사용자의 카운터에만 짧게 걸린다.
+ * 불일치가 나오면 (증감 누락, 수동 데이터 수정 등) 그 사용자의 카운터를 다시 쓰고 지표로 남긴다.
+ */
+@Slf4j
+@Component
+public class MoodStatRebuildJob {
+
+    private final UserRepository userRepository;
+    private final MoodStatService moodStatService;
+    private final int batchSize;
+
+    private final Counter checkedUsers;
+    private final Counter repairedUsers;
+    private final Counter mismatchedCells;
+
+    public MoodStatRebuildJob(UserRepository userRepository, MoodStatService moodStatService, MeterRegistry meterRegistry,
+        @Value("${mood.stats.rebuild.batch-size:200}") int batchSize) {
+        this.userRepository = userRepository;
+        this.moodStatService = moodStatService;
+        this.batchSize = batchSize;
+        this.checkedUsers = meterRegistry.counter("mood.stats.rebuild.users", "result", "checked");
+        this.repairedUsers = meterRegistry.counter("mood.stats.rebuild.users", "result", "repaired");
+        this.mismatchedCells = meterRegistry.counter("mood.stats.rebuild.mismatches");
+    }
+
+    @Scheduled(cron = "${mood.stats.rebuild.cron:0 30 4 * * *}")
+    public void run() {
+        long started = System.currentTimeMillis();
+        int users = 0;
+        int repaired = 0;
+
+        Long after = 0L;
+        List<Long> page;
+        do {
+            page = userRepository.findIdsAfter(after, PageRequest.ofSize(batchSize));
+            for (Long userId : page) {
+                try {
+                    int mismatches = moodStatService.rebuild(userId);
+                    checkedUsers.increment();
+                    if (mismatches > 0) {
+                        repaired++;
+                        repairedUsers.increment();
+                        mismatchedCells.increment(mismatches);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("감정 통계 재집계 실패 userId={}", userId, e);
+                }
+                users++;
+                after = userId;
+            }
+        } while (page.size() == batchSize);
+
+        log.info("감정 통계 재집계 완료: users={}, repaired={}, {}ms", users, repaired, System.currentTimeMillis() - started);
+    }
+}
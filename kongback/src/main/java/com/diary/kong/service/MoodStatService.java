@@ -0,0 +1,127 @@
+package com.diary.kong.service;
+
+import com.diary.kong.dto.MonthMoodStatsDto;
+import com.diary.kong.dto.MoodStatsDto;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStat;
+import com.diary.kong.model.MoodStatId;
+import com.diary.kong.repository.DiaryRepository;
+import com.diary.kong.repository.MoodStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별, 월별 감정 분포 (model.MoodStat).
+ * 증감은 일기를 바꾸는 쪽 트랜잭션에 합류해서 일기와 카운터가 함께 커밋되거나 함께 롤백된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoodStatService {
+
+    private final MoodStatRepository moodStatRepository;
+    private final DiaryRepository diaryRepository;
+
+    @Transactional
+    public void increment(Long userId, LocalDate date, Mood mood) {
+        add(userId, YearMonth.from(date), mood, 1);
+    }
+
+    @Transactional
+    public void decrement(Long userId, LocalDate date, Mood mood) {
+        add(userId, YearMonth.from(date), mood, -1);
+    }
+
+    @Transactional
+    public void add(Long userId, YearMonth month, Mood mood, long delta) {
+        if (delta != 0) {
+            moodStatRepository.upsert(userId, month.atDay(1), mood.getCode(), delta);
+        }
+    }
+
+    // ✅ 한 해의 카운터 행(최대 12 x 감정 수)만 읽어 연간/월별 분포를 만든다
+    @Transactional(readOnly = true)
+    public MoodStatsDto getYearStats(Long userId, int year) {
+        List<MoodStat> rows = moodStatRepository.findRange(userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 1));
+
+        Map<Mood, Long> yearCounts = new EnumMap<>(Mood.class);
+        Map<YearMonth, Map<Mood, Long>> byMonth = new TreeMap<>();
+        for (MoodStat row : rows) {
+            Mood mood = row.getId().getMood();
+            yearCounts.merge(mood, row.getCount(), Long::sum);
+            byMonth.computeIfAbsent(YearMonth.from(row.getId().getMonth()), m -> new EnumMap<>(Mood.class))
+                .merge(mood, row.getCount(), Long::sum);
+        }
+
+        List<MonthMoodStatsDto> months = new ArrayList<>(byMonth.size());
+        byMonth.forEach((month, counts) -> months.add(MonthMoodStatsDto.builder()
+            .yearMonth(month.toString())
+            .total(sum(counts))
+            .counts(labeled(counts))
+            .build()));
+
+        return MoodStatsDto.builder()
+            .year(year)
+            .total(sum(yearCounts))
+            .counts(labeled(yearCounts))
+            .months(months)
+            .build();
+    }
+
+    /**
+     * 사용자의 카운터를 일기 테이블 기준으로 다시 계산한다.
+     * 카운터 행을 먼저 잠가 재집계 중의 증감이 끼어들지 못하게 하고, 차이가 있을 때만 다시 쓴다.
+     *
+     * @return 값이 달랐던 (월, 감정) 칸 수 (0 이면 일치)
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        Map<MoodStatId, Long> stored = nonZero(moodStatRepository.lockByUserId(userId));
+        Map<MoodStatId, Long> actual = nonZero(diaryRepository.countMoodsByUserId(userId));
+
+        Set<MoodStatId> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        int mismatches = (int) keys.stream()
+            .filter(key -> !stored.getOrDefault(key, 0L).equals(actual.getOrDefault(key, 0L)))
+            .count();
+
+        if (mismatches > 0) {
+            log.warn("감정 통계 불일치 userId={}, cells={}: 일기 기준으로 다시 씁니다.", userId, mismatches);
+            moodStatRepository.deleteByUserId(userId);
+            actual.forEach((key, count) ->
+                moodStatRepository.upsert(userId, key.getMonth(), key.getMood().getCode(), count));
+        }
+        return mismatches;
+    }
+
+    private static Map<MoodStatId, Long> nonZero(List<MoodStat> rows) {
+        return rows.stream()
+            .filter(row -> row.getCount() != 0)
+            .collect(Collectors.toMap(MoodStat::getId, MoodStat::getCount, Long::sum));
+    }
+
+    private static long sum(Map<Mood, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static Map<String, Long> labeled(Map<Mood, Long> counts) {
+        return counts.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .collect(Collectors.toMap(entry -> entry.getKey().name(), Map.Entry::getValue,
+                Long::sum, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,12 @@
+package com.diary.kong.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// ✅ 사용자 행이 생성/수정/삭제된 트랜잭션이 커밋된 뒤 사용자 캐시를 무효화하기 위한 이벤트
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+    private final String email;
+}
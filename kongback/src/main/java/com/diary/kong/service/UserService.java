@@ -1,34 +1,53 @@
 package com.diary.kong.service;
 
+import com.diary.kong.cache.UserCache;
 import com.diary.kong.common.CustomException;
 import com.diary.kong.dto.UserSaveDto;
 import com.diary.kong.model.User;
 import com.diary.kong.repository.UserRepository;
 import com.diary.kong.security.JwtTokenProvider;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.diary.kong.security.PasswordHasher;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordHasher passwordHasher;
 
-    public UserService(UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
+    public UserService(UserRepository userRepository, UserCache userCache, ApplicationEventPublisher eventPublisher,
+        JwtTokenProvider jwtTokenProvider, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.userCache = userCache;
+        this.eventPublisher = eventPublisher;
+        this.passwordHasher = passwordHasher;
     }
 
     public User registerUser(UserSaveDto userSaveDto) {
-        if (userRepository.existsByEmail(userSaveDto.getEmail())) {
+        if (userCache.existsByEmail(userSaveDto.getEmail())) {
             throw new CustomException(999, "이미 존재하는 이메일입니다.");
         }
 
-        String encodedPassword = passwordEncoder.encode(userSaveDto.getPassword());
+        String encodedPassword = passwordHasher.encode(userSaveDto.getPassword());
 
         User user = userSaveDto.toEntity(encodedPassword);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getEmail()));
+
+        return savedUser;
+    }
+
+    // ✅ 로그인 때 확인한 옛 해시가 그대로일 때만 바꾼다 (그 사이 비밀번호가 바뀌었으면 건너뛴다)
+    public boolean upgradePasswordHash(User user, String newHash) {
+        if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), newHash) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+        return true;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+-- 비동기 감정 분석 상태 컬럼 (model.MoodStatus, MoodAnalysisWorker).
+-- ddl-auto 가 이미 컬럼을 만든 DB 도 있으므로 information_schema 로 확인하고 없는 컬럼만 추가한다
+-- (MySQL 에는 ADD COLUMN IF NOT EXISTS 가 없다).
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+                      'ALTER TABLE diary ADD COLUMN mood_status ENUM (''COMPLETED'',''FAILED'',''PENDING'') NULL',
+                      'DO 0')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'diary' AND COLUMN_NAME = 'mood_status');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+                      'ALTER TABLE diary ADD COLUMN mood_attempts INTEGER NOT NULL DEFAULT 0',
+                      'DO 0')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'diary' AND COLUMN_NAME = 'mood_attempts');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+                      'ALTER TABLE diary ADD COLUMN mood_next_attempt_at DATETIME(6) NULL',
+                      'DO 0')
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'diary' AND COLUMN_NAME = 'mood_next_attempt_at');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 동기 분석 시절의 일기는 상태가 없다. 감정이 있으면 완료로 두어야 감정 통계(V4, MoodStatRebuildJob)에 잡히고,
+-- 감정이 없으면 대기로 두어 워커가 분석한다.
+UPDATE diary
+SET mood_status = 'COMPLETED'
+WHERE mood_status IS NULL
+  AND mood IS NOT NULL
+  AND UPPER(TRIM(mood)) <> 'PENDING';
+
+UPDATE diary
+SET mood_status = 'PENDING'
+WHERE mood_status IS NULL;
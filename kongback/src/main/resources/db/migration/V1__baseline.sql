@@ -0,0 +1,25 @@
+-- 기존에 ddl-auto: update 로 만들어진 스키마의 기준선 (비동기 감정 분석 이전의 users / diary).
+-- spring.flyway.baseline-version 이 0 이라 이미 테이블이 있는 DB 에서도 V1 부터 적용되며, 이때 아래 문장은 아무것도 바꾸지 않는다.
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    nickname   VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS diary
+(
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    content    VARCHAR(255),
+    mood       VARCHAR(255),
+    date       VARCHAR(255),
+    created_at DATETIME(6),
+    user_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_diary_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
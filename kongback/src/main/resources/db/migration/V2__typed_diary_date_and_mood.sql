@@ -0,0 +1,57 @@
+-- diary.date: 자유 형식 VARCHAR -> DATE, diary.mood: 라벨 문자열 -> SMALLINT 코드 (model.Mood)
+-- 그리고 월별 조회용 (user_id, date) 복합 인덱스.
+
+ALTER TABLE diary
+    ADD COLUMN diary_date DATE NULL,
+    ADD COLUMN mood_code SMALLINT NULL;
+
+-- 1) 날짜 backfill: yyyy-MM-dd / yyyyMMdd / yyyy.MM.dd / yyyy/MM/dd 를 인정한다.
+--    형식이 맞지 않는 값은 STR_TO_DATE 에 넘기지 않는다 (strict 모드에서 UPDATE 가 실패하므로).
+UPDATE diary
+SET diary_date = STR_TO_DATE(REPLACE(REPLACE(REPLACE(TRIM(date), '-', ''), '.', ''), '/', ''), '%Y%m%d')
+WHERE TRIM(date) REGEXP '^[0-9]{4}[-./]?(0[1-9]|1[0-2])[-./]?(0[1-9]|[12][0-9]|3[01])$';
+
+-- 해석할 수 없는 날짜는 작성일, 그것도 없으면 마이그레이션 당일로 채운다.
+UPDATE diary SET diary_date = DATE(created_at) WHERE diary_date IS NULL AND created_at IS NOT NULL;
+UPDATE diary SET diary_date = CURRENT_DATE WHERE diary_date IS NULL;
+
+-- 2) 감정 backfill: model.Mood 의 코드와 같아야 한다.
+UPDATE diary
+SET mood_code = CASE UPPER(TRIM(mood))
+                    WHEN 'HAPPY' THEN 1
+                    WHEN 'SAD' THEN 2
+                    WHEN 'ANGRY' THEN 3
+                    WHEN 'NEUTRAL' THEN 4
+                    WHEN 'EXCITED' THEN 5
+                    WHEN 'CALM' THEN 6
+                    WHEN 'ANXIOUS' THEN 7
+                    WHEN 'TIRED' THEN 8
+                    WHEN 'BORED' THEN 9
+                    WHEN 'CONFUSED' THEN 10
+                    WHEN 'HOPEFUL' THEN 11
+                    WHEN 'LONELY' THEN 12
+                    WHEN 'SURPRISED' THEN 13
+    END
+WHERE mood IS NOT NULL;
+
+-- 분석이 끝났는데 라벨 밖의 값(예전 자유 응답)이 남은 일기는 NEUTRAL 로 둔다. PENDING 은 NULL 로 남는다.
+UPDATE diary
+SET mood_code = 4
+WHERE mood_code IS NULL
+  AND mood IS NOT NULL
+  AND UPPER(TRIM(mood)) <> 'PENDING'
+  AND (mood_status IS NULL OR mood_status <> 'PENDING');
+
+-- 3) 새 컬럼으로 교체
+ALTER TABLE diary
+    DROP COLUMN date,
+    DROP COLUMN mood;
+
+ALTER TABLE diary
+    RENAME COLUMN diary_date TO date,
+    RENAME COLUMN mood_code TO mood;
+
+ALTER TABLE diary
+    MODIFY COLUMN date DATE NOT NULL;
+
+CREATE INDEX idx_diary_user_date ON diary (user_id, date);
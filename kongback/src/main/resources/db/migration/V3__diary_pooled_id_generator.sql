@@ -0,0 +1,15 @@
+-- Diary.id: IDENTITY -> @TableGenerator(pooled, allocationSize = 100)
+-- IDENTITY 는 insert 마다 생성 키를 돌려받아야 해서 Hibernate JDBC 배치가 꺼진다.
+-- MySQL 에는 시퀀스가 없으므로 테이블 기반 생성기를 쓰고, 한 번에 100개씩 할당받는다.
+
+CREATE TABLE IF NOT EXISTS id_generator
+(
+    name     VARCHAR(64) NOT NULL,
+    next_val BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+-- pooled 최적화기는 읽은 값 v 에 대해 (v - 99 .. v) 구간을 쓰므로, 기존 최대 id 보다 100 이상 큰 값으로 시작한다.
+INSERT INTO id_generator (name, next_val)
+SELECT 'diary', COALESCE(MAX(id), 0) + 101
+FROM diary;
@@ -0,0 +1,20 @@
+-- 사용자별, 월별 감정 분포 카운터 (model.MoodStat). 분석이 끝난(COMPLETED) 일기만 센다.
+-- 요청마다 diary 를 GROUP BY 하지 않고, 일기 쓰기 트랜잭션에서 증감한 값을 읽는다.
+
+CREATE TABLE IF NOT EXISTS mood_stat
+(
+    user_id     BIGINT   NOT NULL,
+    stat_month  DATE     NOT NULL,
+    mood        SMALLINT NOT NULL,
+    diary_count BIGINT   NOT NULL,
+    PRIMARY KEY (user_id, stat_month, mood)
+) ENGINE = InnoDB;
+
+-- 기존 일기로 초기값을 채운다. 이후 차이는 MoodStatRebuildJob 이 바로잡는다.
+INSERT INTO mood_stat (user_id, stat_month, mood, diary_count)
+SELECT user_id, DATE_FORMAT(date, '%Y-%m-01'), mood, COUNT(*)
+FROM diary
+WHERE mood_status = 'COMPLETED'
+  AND mood IS NOT NULL
+  AND user_id IS NOT NULL
+GROUP BY user_id, DATE_FORMAT(date, '%Y-%m-01'), mood;
@@ -0,0 +1,15 @@
+-- 일기 본문 검색용 사용자별 bigram 역색인 (model.DiaryToken, service.BigramTokenizer).
+-- 토큰은 애플리케이션에서 정규화(NFKC + 소문자)해서 넣으므로 바이너리 비교로 둔다.
+-- (기본 ai_ci 콜레이션은 서로 다른 토큰을 같은 값으로 보아 PK 가 충돌한다)
+-- 기존 일기는 기동 시 DiarySearchIndexBackfill 이 채운다.
+
+CREATE TABLE IF NOT EXISTS diary_token
+(
+    user_id  BIGINT     NOT NULL,
+    token    VARCHAR(8) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    diary_id BIGINT     NOT NULL,
+    tf       SMALLINT   NOT NULL,
+    PRIMARY KEY (user_id, token, diary_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_diary_token_diary ON diary_token (diary_id);
@@ -0,0 +1,12 @@
+-- 검색 색인(diary_token) 반영 여부 (model.Diary.searchIndexed).
+-- 토큰이 없는지로 판단하면 빈 본문 일기는 색인을 채워도 계속 대상이 되어 기동마다 다시 읽힌다.
+-- 새 일기는 저장할 때 함께 색인하므로 기본값은 TRUE, 토큰이 없는 기존 일기만 FALSE 로 두어 DiarySearchIndexBackfill 이 가져간다.
+
+ALTER TABLE diary
+    ADD COLUMN search_indexed BOOLEAN NOT NULL DEFAULT TRUE;
+
+UPDATE diary d
+SET search_indexed = FALSE
+WHERE NOT EXISTS (SELECT 1 FROM diary_token t WHERE t.diary_id = d.id);
+
+CREATE INDEX idx_diary_search_indexed ON diary (search_indexed, id);
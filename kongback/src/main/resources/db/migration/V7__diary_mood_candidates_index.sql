@@ -0,0 +1,4 @@
+-- 감정 분석 스위퍼(MoodAnalysisWorker.sweep)는 30초마다 PENDING 이고 재시도 시각이 지난 일기를 찾는다.
+-- 인덱스가 없으면 스윕마다 diary 전체를 읽으므로 (mood_status, mood_next_attempt_at) 범위로 좁히고 id 까지 인덱스에서 읽는다.
+
+CREATE INDEX idx_diary_mood_candidates ON diary (mood_status, mood_next_attempt_at, id);
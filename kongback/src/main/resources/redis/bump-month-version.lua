@@ -0,0 +1,9 @@
+-- 월별 일기 버전(마지막 변경 시각 ms)을 올린다. 같은 ms 에 여러 번 바뀌어도 값이 항상 커진다.
+-- KEYS[1] : DV:<userId>:<yyyy-MM>
+-- ARGV[1] : 현재 시각 (ms)
+-- ARGV[2] : 키 TTL (ms)
+-- 반환값  : 새 버전
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local next = math.max(current + 1, tonumber(ARGV[1]))
+redis.call('SET', KEYS[1], next, 'PX', ARGV[2])
+return next
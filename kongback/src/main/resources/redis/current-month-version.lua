@@ -0,0 +1,12 @@
+-- 월별 일기 버전을 읽는다. 키가 없으면(처음 조회, TTL 만료, Redis 초기화) 현재 시각으로 만든다.
+-- 새로 만든 값은 이전에 내준 어떤 버전보다 크므로, 클라이언트는 한 번 다시 받아 갈 뿐 오래된 목록을 유지하지 않는다.
+-- KEYS[1] : DV:<userId>:<yyyy-MM>
+-- ARGV[1] : 현재 시각 (ms)
+-- ARGV[2] : 키 TTL (ms)
+-- 반환값  : 현재 버전
+local current = redis.call('GET', KEYS[1])
+if current then
+    return tonumber(current)
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return tonumber(ARGV[1])
@@ -0,0 +1,16 @@
+-- 노드가 처음 보는 키의 버킷을 클러스터 전체 기준으로 시작하도록 남은 토큰을 읽는다 (쓰지 않는다).
+-- 계산은 sync-rate-limit-buckets.lua 의 소비량 0 과 같다.
+-- KEYS[1] : RL:<정책>:<ip 또는 email>
+-- ARGV[1] : 버킷 용량 (토큰 수)
+-- ARGV[2] : ms 당 채워지는 토큰 수
+-- 반환값  : 남은 토큰 x 1000 (정수). 키가 없으면 가득 찬 버킷
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+if not state[1] then
+    return math.floor(capacity * 1000)
+end
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local tokens = math.min(capacity, tonumber(state[1]) + math.max(0, now - (tonumber(state[2]) or now)) * rate)
+return math.floor(tokens * 1000)
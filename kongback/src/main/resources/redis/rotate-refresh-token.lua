@@ -0,0 +1,20 @@
+-- Refresh Token 비교 + 잔여 TTL 확인 + 회전을 한 번의 왕복으로 원자적으로 수행한다.
+-- KEYS[1] : RT:<email>
+-- ARGV[1] : 클라이언트가 제시한 refresh token
+-- ARGV[2] : 회전 시 저장할 새 refresh token
+-- ARGV[3] : 이 값(ms)보다 TTL 이 적게 남았으면 회전
+-- ARGV[4] : 새 refresh token 의 TTL (ms)
+-- 반환값  : 0 = 불일치/없음, 1 = 기존 토큰 유지, 2 = 새 토큰으로 회전
+local current = redis.call('GET', KEYS[1])
+-- 직렬화 변경 전 JSON 문자열("...")로 저장된 토큰도 같은 토큰으로 인정한다
+if (not current) or (current ~= ARGV[1] and current ~= '"' .. ARGV[1] .. '"') then
+    return 0
+end
+
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl >= tonumber(ARGV[3]) then
+    return 1
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[4])
+return 2
@@ -0,0 +1,27 @@
+-- 노드가 모아 둔 토큰 소비량을 버킷들에 한 번에 반영하고, 클러스터 전체 기준으로 남은 토큰을 돌려준다.
+-- 시각은 노드 시계 차이가 섞이지 않도록 Redis 의 TIME 을 쓴다.
+-- KEYS[i]      : RL:<정책>:<ip 또는 email>
+-- ARGV[3i - 2] : 버킷 용량 (토큰 수)
+-- ARGV[3i - 1] : ms 당 채워지는 토큰 수
+-- ARGV[3i]     : 지난 동기화 이후 이 노드에서 쓴 토큰 수
+-- 반환값       : 버킷마다 남은 토큰 x 1000 (정수)
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local remaining = {}
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[3 * i - 2])
+    local rate = tonumber(ARGV[3 * i - 1])
+    local consumed = tonumber(ARGV[3 * i])
+
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1]) or capacity
+    local updated = tonumber(state[2]) or now
+    tokens = math.min(capacity, tokens + math.max(0, now - updated) * rate)
+    tokens = math.max(0, tokens - consumed)
+
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+    -- 가득 찬 버킷은 키가 없는 것과 같으므로 다시 가득 찰 때까지만 둔다
+    redis.call('PEXPIRE', key, math.ceil((capacity - tokens) / rate) + 1000)
+    remaining[i] = math.floor(tokens * 1000)
+end
+return remaining
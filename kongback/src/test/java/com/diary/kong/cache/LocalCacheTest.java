@@ -0,0 +1,52 @@
+package com.diary.kong.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalCacheTest {
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedFirst() {
+        LocalCache<String, String> cache = new LocalCache<>(2, 60_000);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");  // a 를 최근에 쓴 항목으로 만든다
+        cache.put("c", "3");
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.sizeEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntriesMissAndArePurged() throws Exception {
+        LocalCache<String, String> cache = new LocalCache<>(10, 1);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        Thread.sleep(5);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.expirationCount()).isEqualTo(1);
+
+        cache.purgeExpired();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.expirationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void hitsAndMissesAreCounted() {
+        LocalCache<String, String> cache = new LocalCache<>(10, 60_000);
+        cache.put("a", "1");
+
+        cache.get("a");
+        cache.get("b");
+
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        // remove 는 통계에 잡히지 않는다
+        assertThat(cache.remove("a")).isEqualTo("1");
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,136 @@
+package com.diary.kong.cache;
+
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.service.DiaryChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class MonthlyDiaryCacheTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    private RedisTemplate<String, String> redisTemplate;
+    private MonthlyDiaryCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        cache = new MonthlyDiaryCache(redisTemplate, new SimpleMeterRegistry(), true, 100, 60_000);
+    }
+
+    @Test
+    void concurrentMissesCollapseIntoOneQuery() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<DiaryDetailDto>> slowQuery = () -> {
+            queries.incrementAndGet();
+            await(release);
+            return List.of(diary(1L, "HAPPY"));
+        };
+
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<DiaryDetailDto>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get(1L, MARCH, slowQuery)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<List<DiaryDetailDto>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).extracting(DiaryDetailDto::getMood).containsExactly("HAPPY");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(queries.get()).isEqualTo(1);
+        cache.get(1L, MARCH, slowQuery);
+        assertThat(queries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void changeEvictsOnlyThatUsersMonth() {
+        AtomicInteger queries = new AtomicInteger();
+        cache.get(1L, MARCH, () -> counted(queries, "HAPPY"));
+        cache.get(1L, MARCH.plusMonths(1), () -> counted(queries, "HAPPY"));
+        cache.get(2L, MARCH, () -> counted(queries, "HAPPY"));
+        assertThat(queries.get()).isEqualTo(3);
+
+        cache.onDiaryChanged(new DiaryChangedEvent(1L, LocalDate.of(2025, 3, 14)));
+
+        assertThat(cache.get(1L, MARCH, () -> counted(queries, "SAD")))
+            .extracting(DiaryDetailDto::getMood).containsExactly("SAD");
+        cache.get(1L, MARCH.plusMonths(1), () -> counted(queries, "SAD"));
+        cache.get(2L, MARCH, () -> counted(queries, "SAD"));
+        assertThat(queries.get()).isEqualTo(4);
+        verify(redisTemplate).convertAndSend(MonthlyDiaryCache.INVALIDATION_CHANNEL, "1:2025-03");
+    }
+
+    @Test
+    void loadRacingWithInvalidationIsNotCached() {
+        AtomicInteger queries = new AtomicInteger();
+        cache.get(1L, MARCH, () -> {
+            queries.incrementAndGet();
+            // 조회 도중 같은 월의 일기가 바뀌었다
+            cache.onDiaryChanged(new DiaryChangedEvent(1L, LocalDate.of(2025, 3, 20)));
+            return List.of(diary(1L, "STALE"));
+        });
+
+        assertThat(cache.get(1L, MARCH, () -> counted(queries, "FRESH")))
+            .extracting(DiaryDetailDto::getMood).containsExactly("FRESH");
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void entryLoadedUnderOlderVersionIsReloaded() {
+        AtomicInteger queries = new AtomicInteger();
+        cache.get(1L, MARCH, 100L, () -> counted(queries, "HAPPY"));
+        assertThat(cache.get(1L, MARCH, 100L, () -> counted(queries, "SAD")))
+            .extracting(DiaryDetailDto::getMood).containsExactly("HAPPY");
+
+        // 다른 노드에서 바뀌어 버전은 올랐지만 무효화 메시지는 아직 오지 않았다
+        assertThat(cache.get(1L, MARCH, 101L, () -> counted(queries, "SAD")))
+            .extracting(DiaryDetailDto::getMood).containsExactly("SAD");
+        assertThat(cache.get(1L, MARCH, 101L, () -> counted(queries, "ANGRY")))
+            .extracting(DiaryDetailDto::getMood).containsExactly("SAD");
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    private static List<DiaryDetailDto> counted(AtomicInteger queries, String mood) {
+        queries.incrementAndGet();
+        return List.of(diary(1L, mood));
+    }
+
+    private static DiaryDetailDto diary(Long id, String mood) {
+        return DiaryDetailDto.builder().id(id).content("오늘").mood(mood).date("2025-03-14").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.diary.kong.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.text.Normalizer;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MoodResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ValueOperations<String, String> valueOperations;
+    private MoodResultCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new MoodResultCache(redisTemplate, meterRegistry, 100, 60_000, true, 604_800_000);
+    }
+
+    @Test
+    void whitespaceCaseAndUnicodeFormDoNotChangeTheKey() {
+        String composed = "오늘은  정말\n행복한 날 Happy ";
+        String decomposed = Normalizer.normalize(" 오늘은 정말 행복한 날 happy", Normalizer.Form.NFD);
+
+        assertThat(MoodResultCache.keyOf(decomposed)).isEqualTo(MoodResultCache.keyOf(composed));
+        assertThat(MoodResultCache.keyOf("오늘은 정말 슬픈 날")).isNotEqualTo(MoodResultCache.keyOf(composed));
+        assertThat(MoodResultCache.keyOf(composed)).hasSize(64);
+    }
+
+    @Test
+    void putWritesBothLevelsAndLocalHitSkipsRedis() {
+        cache.put("산책을 했다", "HAPPY");
+
+        assertThat(cache.get("  산책을   했다 ")).isEqualTo("HAPPY");
+        verify(valueOperations).set("MOOD:" + MoodResultCache.keyOf("산책을 했다"), "HAPPY", Duration.ofMillis(604_800_000));
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void redisHitIsCopiedIntoLocalCache() {
+        String key = "MOOD:" + MoodResultCache.keyOf("비가 왔다");
+        // 직렬화 변경 전 JSON 문자열로 저장된 값
+        when(valueOperations.get(key)).thenReturn("\"SAD\"");
+
+        assertThat(cache.get("비가 왔다")).isEqualTo("SAD");
+        assertThat(cache.get("비가 왔다")).isEqualTo("SAD");
+
+        verify(valueOperations, times(1)).get(key);
+        assertThat(requests("redis", "hit")).isEqualTo(1);
+        assertThat(requests("local", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void redisFailureIsAMiss() {
+        when(valueOperations.get(anyString())).thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(cache.get("비가 왔다")).isNull();
+        assertThat(meterRegistry.get("mood.cache.errors").functionCounter().count()).isEqualTo(1);
+    }
+
+    private double requests(String level, String result) {
+        return meterRegistry.get("mood.cache.requests").tags("level", level, "result", result).functionCounter().count();
+    }
+}
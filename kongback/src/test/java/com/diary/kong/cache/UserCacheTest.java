@@ -0,0 +1,100 @@
+package com.diary.kong.cache;
+
+import com.diary.kong.model.User;
+import com.diary.kong.repository.UserRepository;
+import com.diary.kong.service.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+    private UserRepository userRepository;
+    private RedisTemplate<String, String> redisTemplate;
+    private UserCache userCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        redisTemplate = mock(RedisTemplate.class);
+        userCache = new UserCache(userRepository, redisTemplate, new SimpleMeterRegistry(), true, 100, 60_000);
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "a@kong.com", "kong")));
+
+        userCache.findById(1L);
+        userCache.findById(1L);
+        Optional<User> byEmail = userCache.findByEmail("a@kong.com");
+
+        assertThat(byEmail).map(User::getNickname).contains("kong");
+        assertThat(userCache.existsByEmail("a@kong.com")).isTrue();
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(0)).findByEmail("a@kong.com");
+        verify(userRepository, times(0)).existsByEmail("a@kong.com");
+        assertThat(userCache.hitRatio()).isEqualTo(0.75);
+    }
+
+    @Test
+    void staleEntryIsEvictedWhenUserChanges() {
+        when(userRepository.findByEmail("a@kong.com")).thenReturn(Optional.of(user(1L, "a@kong.com", "before")));
+        assertThat(userCache.findByEmail("a@kong.com")).map(User::getNickname).contains("before");
+
+        // DB 행이 바뀌었지만 아직 무효화 전이라 캐시 값이 보인다
+        when(userRepository.findByEmail("a@kong.com")).thenReturn(Optional.of(user(1L, "a@kong.com", "after")));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "a@kong.com", "after")));
+        assertThat(userCache.findByEmail("a@kong.com")).map(User::getNickname).contains("before");
+
+        userCache.onUserChanged(new UserChangedEvent(1L, "a@kong.com"));
+
+        assertThat(userCache.findByEmail("a@kong.com")).map(User::getNickname).contains("after");
+        assertThat(userCache.findById(1L)).map(User::getNickname).contains("after");
+        verify(redisTemplate).convertAndSend(UserCache.INVALIDATION_CHANNEL, "1:a@kong.com");
+    }
+
+    @Test
+    void invalidationFromAnotherNodeEvictsBothKeys() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L, "old:mail@kong.com", "before")));
+        userCache.findById(7L);
+
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L, "new@kong.com", "after")));
+        when(userRepository.findByEmail("old:mail@kong.com")).thenReturn(Optional.empty());
+
+        // 다른 노드는 id 만 알고 보냈다
+        userCache.onMessage(message(UserCache.encode(7L, null)), null);
+
+        assertThat(userCache.findById(7L)).map(User::getEmail).contains("new@kong.com");
+        assertThat(userCache.findByEmail("old:mail@kong.com")).isEmpty();
+    }
+
+    @Test
+    void callerMutationsDoNotLeakIntoCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "a@kong.com", "kong")));
+
+        userCache.findById(1L).orElseThrow().setNickname("mutated");
+
+        assertThat(userCache.findById(1L)).map(User::getNickname).contains("kong");
+    }
+
+    private static User user(Long id, String email, String nickname) {
+        return User.builder().id(id).email(email).password("hash").nickname(nickname).build();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(UserCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.diary.kong.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReserveConnectionProviderTest {
+
+    private final Connection outer = mock(Connection.class);
+    private final Connection nested = mock(Connection.class);
+    private final Connection next = mock(Connection.class);
+    private HikariDataSource reserve;
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource main = mock(DataSource.class);
+        when(main.getConnection()).thenReturn(outer, next);
+        reserve = mock(HikariDataSource.class);
+        when(reserve.getConnection()).thenReturn(nested);
+
+        ReserveConnectionProvider reserveProvider = new ReserveConnectionProvider(main, reserve);
+        reserveProvider.configure(new HashMap<>());
+        provider = reserveProvider;
+    }
+
+    @Test
+    void nestedRequestIsServedFromReserve() throws Exception {
+        assertThat(provider.getConnection()).isSameAs(outer);
+        // 트랜잭션 연결을 쥔 채로 id 블록 할당 같은 격리 작업이 연결을 하나 더 요청한다
+        assertThat(provider.getConnection()).isSameAs(nested);
+        provider.closeConnection(nested);
+        provider.closeConnection(outer);
+
+        assertThat(provider.getConnection()).isSameAs(next);
+    }
+
+    @Test
+    void otherThreadsStillUseMainPool() throws Exception {
+        assertThat(provider.getConnection()).isSameAs(outer);
+
+        Connection[] fromOtherThread = new Connection[1];
+        Thread thread = new Thread(() -> {
+            try {
+                fromOtherThread[0] = provider.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(fromOtherThread[0]).isSameAs(next);
+    }
+
+    @Test
+    void connectionClosedOnAnotherThreadReleasesItsOwner() throws Exception {
+        assertThat(provider.getConnection()).isSameAs(outer);
+
+        // 비동기 처리 등으로 연결이 다른 스레드에서 닫혀도 받은 스레드의 개수가 줄어야 한다
+        Thread thread = new Thread(() -> {
+            try {
+                provider.closeConnection(outer);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(provider.getConnection()).isSameAs(next);
+    }
+
+    @Test
+    void stopClosesReserve() {
+        ((ReserveConnectionProvider) provider).stop();
+
+        verify(reserve).close();
+    }
+}
@@ -0,0 +1,143 @@
+package com.diary.kong.controller;
+
+import com.diary.kong.cache.MonthVersionStamps;
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.service.DiaryExportService;
+import com.diary.kong.service.DiaryImportService;
+import com.diary.kong.service.DiarySearchService;
+import com.diary.kong.service.DiaryService;
+import com.diary.kong.service.MoodStatService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DiaryControllerConditionalGetTest {
+
+    private static final long VERSION = 1_741_900_000_123L;
+    private static final String ETAG = "W/\"" + VERSION + "\"";
+    private static final String URL = "/api/v1/diaries/user/1?yearMonth=202503";
+
+    private DiaryService diaryService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        diaryService = mock(DiaryService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new DiaryController(diaryService,
+            mock(DiaryExportService.class), mock(DiaryImportService.class), mock(MoodStatService.class),
+            mock(DiarySearchService.class), new ObjectMapper())).build();
+    }
+
+    @Test
+    void firstRequestGetsBodyWithValidators() throws Exception {
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(VERSION);
+        when(diaryService.getDiariesByMonth(1L, "202503", VERSION)).thenReturn(List.of(diary()));
+
+        mockMvc.perform(get(URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andExpect(jsonPath("$[0].mood").value("HAPPY"));
+    }
+
+    @Test
+    void matchingETagSkipsQuery() throws Exception {
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(VERSION);
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().string(""));
+
+        verify(diaryService, never()).getDiariesByMonth(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    void strongFormOfETagStillMatches() throws Exception {
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(VERSION);
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void cborIsServedWhenAccepted() throws Exception {
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(VERSION);
+        when(diaryService.getDiariesByMonth(1L, "202503", VERSION)).thenReturn(List.of(diary()));
+
+        byte[] body = mockMvc.perform(get(URL).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode diaries = new CBORMapper().readTree(body);
+        assertThat(diaries.get(0).get("content").asText()).isEqualTo("오늘");
+        assertThat(diaries.get(0).get("mood").asText()).isEqualTo("HAPPY");
+    }
+
+    @Test
+    void changeWithinTheSameSecondIsNotHiddenByIfModifiedSince() throws Exception {
+        // 클라이언트가 받은 버전과 같은 초 안에 일기가 바뀌었다 (HTTP 날짜로는 구분되지 않는다)
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(VERSION + 1);
+        when(diaryService.getDiariesByMonth(1L, "202503", VERSION + 1)).thenReturn(List.of(diary()));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(VERSION)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].mood").value("HAPPY"));
+    }
+
+    @Test
+    void staleETagGetsNewBody() throws Exception {
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(VERSION + 1);
+        when(diaryService.getDiariesByMonth(1L, "202503", VERSION + 1)).thenReturn(List.of(diary()));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + (VERSION + 1) + "\""));
+    }
+
+    @Test
+    void unknownVersionFallsBackToPlainResponse() throws Exception {
+        when(diaryService.getMonthVersion(1L, "202503")).thenReturn(MonthVersionStamps.UNKNOWN);
+        when(diaryService.getDiariesByMonth(1L, "202503")).thenReturn(List.of(diary()));
+
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private static DiaryDetailDto diary() {
+        return DiaryDetailDto.builder().id(1L).content("오늘").mood("HAPPY").date("2025-03-14").build();
+    }
+
+    private static String httpDate(long epochMillis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,89 @@
+package com.diary.kong.controller;
+
+import com.diary.kong.common.CustomException;
+import com.diary.kong.common.GlobalExceptionHandler;
+import com.diary.kong.service.DiaryExportService;
+import com.diary.kong.service.DiaryImportService;
+import com.diary.kong.service.DiarySearchService;
+import com.diary.kong.service.DiaryService;
+import com.diary.kong.service.MoodStatService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+class DiaryControllerOwnershipTest {
+
+    // 로그인한 사용자가 아닌 다른 사용자의 id
+    private static final Long OTHER_USER_ID = 2L;
+
+    private DiaryService diaryService;
+    private DiaryExportService diaryExportService;
+    private DiaryImportService diaryImportService;
+    private MoodStatService moodStatService;
+    private DiarySearchService diarySearchService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        diaryService = mock(DiaryService.class);
+        diaryExportService = mock(DiaryExportService.class);
+        diaryImportService = mock(DiaryImportService.class);
+        moodStatService = mock(MoodStatService.class);
+        diarySearchService = mock(DiarySearchService.class);
+        doThrow(new CustomException(999, "권한이 없습니다.")).when(diaryService).verifyOwnership(OTHER_USER_ID);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new DiaryController(diaryService, diaryExportService,
+                diaryImportService, moodStatService, diarySearchService, new ObjectMapper()))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void otherUsersPageIsRejected() throws Exception {
+        expectForbidden(get("/api/v1/diaries/user/{userId}/page", OTHER_USER_ID));
+    }
+
+    @Test
+    void otherUsersExportIsRejected() throws Exception {
+        expectForbidden(get("/api/v1/diaries/user/{userId}/export", OTHER_USER_ID));
+    }
+
+    @Test
+    void importIntoOtherUserIsRejected() throws Exception {
+        expectForbidden(post("/api/v1/diaries/user/{userId}/import", OTHER_USER_ID)
+            .content("{\"content\":\"남의 계정에 쓰기\"}\n"));
+    }
+
+    @Test
+    void otherUsersSearchIsRejected() throws Exception {
+        expectForbidden(get("/api/v1/diaries/user/{userId}/search", OTHER_USER_ID).param("q", "산책"));
+    }
+
+    @Test
+    void otherUsersMoodStatsAreRejected() throws Exception {
+        expectForbidden(get("/api/v1/diaries/user/{userId}/mood-stats", OTHER_USER_ID));
+    }
+
+    // 소유자 확인이 어떤 서비스 호출보다 먼저 끝나야 한다
+    private void expectForbidden(RequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+            .andExpect(jsonPath("$.status").value(999))
+            .andExpect(jsonPath("$.message").value("권한이 없습니다."));
+
+        verify(diaryService).verifyOwnership(OTHER_USER_ID);
+        verifyNoMoreInteractions(diaryService);
+        verifyNoInteractions(diaryExportService, diaryImportService, moodStatService, diarySearchService);
+    }
+}
@@ -0,0 +1,112 @@
+package com.diary.kong.repository;
+
+import com.diary.kong.dto.DiaryCursor;
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class DiaryListingQueryTest {
+
+    private static final int DIARIES = 57;
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = insertUser("target@kong.com");
+        long otherUserId = insertUser("other@kong.com");
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < DIARIES; i++) {
+            // 하루에 세 편씩 써서 같은 날짜가 페이지 경계에 걸리게 한다
+            rows.add(row(2L * i + 1, userId, LocalDate.of(2025, 1, 1).plusDays(i / 3)));
+            rows.add(row(2L * i + 2, otherUserId, LocalDate.of(2025, 1, 1).plusDays(i / 3)));
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO diary (id, content, mood, mood_status, mood_attempts, date, created_at, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void keysetPagesCoverEveryDiaryOnceNewestFirst() {
+        List<DiaryDetailDto> seen = new ArrayList<>();
+        DiaryCursor cursor = DiaryCursor.START;
+        int pageSize = 10;
+        int pages = 0;
+
+        while (true) {
+            List<DiaryDetailDto> page = diaryRepository.findPageBefore(userId, cursor.date(), cursor.id(),
+                PageRequest.ofSize(pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            seen.addAll(page);
+            pages++;
+            // 커서는 문자열로 왕복해도 같은 위치여야 한다
+            cursor = DiaryCursor.decode(DiaryCursor.of(page.get(page.size() - 1)).encode());
+        }
+
+        assertThat(pages).isEqualTo((DIARIES + pageSize - 1) / pageSize);
+        assertThat(seen).extracting(DiaryDetailDto::getId).doesNotHaveDuplicates().hasSize(DIARIES);
+        assertThat(seen).isSortedAccordingTo(
+            Comparator.comparing(DiaryDetailDto::getDate).thenComparing(DiaryDetailDto::getId).reversed());
+    }
+
+    @Test
+    void pagesAfterWalkAllDiariesOldestFirst() {
+        List<DiaryDetailDto> seen = new ArrayList<>();
+        LocalDate date = LocalDate.of(1000, 1, 1);
+        long id = 0;
+
+        while (true) {
+            List<DiaryDetailDto> page = diaryRepository.findPageAfter(userId, date, id, PageRequest.ofSize(7));
+            if (page.isEmpty()) {
+                break;
+            }
+            seen.addAll(page);
+            DiaryDetailDto last = page.get(page.size() - 1);
+            date = LocalDate.parse(last.getDate());
+            id = last.getId();
+        }
+
+        assertThat(seen).extracting(DiaryDetailDto::getId).doesNotHaveDuplicates().hasSize(DIARIES);
+        assertThat(seen).isSortedAccordingTo(
+            Comparator.comparing(DiaryDetailDto::getDate).thenComparing(DiaryDetailDto::getId));
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (email, password, nickname) VALUES (?, ?, ?)", email, "hash", "kong");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private static Object[] row(long id, long userId, LocalDate date) {
+        return new Object[]{id, "일기 " + id, Mood.HAPPY.getCode(), MoodStatus.COMPLETED.name(), 1,
+            Date.valueOf(date), Timestamp.valueOf(date.atTime(21, 0)), userId};
+    }
+}
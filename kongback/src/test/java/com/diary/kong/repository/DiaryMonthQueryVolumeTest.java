@@ -0,0 +1,139 @@
+package com.diary.kong.repository;
+
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테이블이 커져도 월별 조회가 (user_id, date) 인덱스 범위 스캔으로 일정한 비용을 유지하는지 확인한다.
+ * 대상 사용자의 일기 수는 고정하고 다른 사용자의 일기만 늘린다.
+ * 15만 건을 넣고 시간을 재므로 gradle test 에서는 빠지고 gradle volumeTest 로 따로 돌린다.
+ */
+@Tag("volume")
+@DataJpaTest(showSql = false, properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class DiaryMonthQueryVolumeTest {
+
+    private static final int[] TABLE_SIZES = {10_000, 50_000, 150_000};
+    private static final int OTHER_USERS = 500;
+    private static final int WARMUP = 1_000;
+    private static final int SAMPLES = 200;
+
+    private static final LocalDate MARCH_FIRST = LocalDate.of(2025, 3, 1);
+    private static final LocalDate MARCH_LAST = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void monthLookupStaysFlatAsTableGrows() {
+        long targetUserId = insertUser("target@kong.com");
+        List<Long> otherUserIds = new ArrayList<>();
+        for (int i = 0; i < OTHER_USERS; i++) {
+            otherUserIds.add(insertUser("user" + i + "@kong.com"));
+        }
+
+        // 대상 사용자: 2025년 매일 한 편 (365건)
+        List<Object[]> targetRows = new ArrayList<>();
+        for (int day = 0; day < 365; day++) {
+            targetRows.add(row(targetUserId, LocalDate.of(2025, 1, 1).plusDays(day), day));
+        }
+        insertDiaries(targetRows);
+
+        Map<Integer, Double> medianMicrosBySize = new LinkedHashMap<>();
+        int inserted = targetRows.size();
+        for (int size : TABLE_SIZES) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = inserted; i < size; i++) {
+                long userId = otherUserIds.get(i % OTHER_USERS);
+                rows.add(row(userId, LocalDate.of(2020, 1, 1).plusDays(i % 2000), i));
+            }
+            insertDiaries(rows);
+            inserted = size;
+
+            List<DiaryDetailDto> march = findMarch(targetUserId);
+            assertThat(march).hasSize(31);
+            assertThat(march.get(0).getDate()).isEqualTo(MARCH_FIRST.toString());
+            assertThat(march.get(30).getDate()).isEqualTo(MARCH_LAST.toString());
+
+            medianMicrosBySize.put(size, medianMicros(targetUserId));
+        }
+
+        // 인덱스 범위 스캔을 타는지 실행 계획으로 확인
+        String plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM diary WHERE user_id = ? AND date BETWEEN ? AND ?",
+                targetUserId, Date.valueOf(MARCH_FIRST), Date.valueOf(MARCH_LAST))
+            .toString().toUpperCase();
+        assertThat(plan).contains("IDX_DIARY_USER_DATE");
+
+        // 행이 15배 늘어도 조회 비용은 거의 그대로여야 한다 (풀 스캔이면 행 수에 비례해 늘어난다)
+        double smallest = medianMicrosBySize.get(TABLE_SIZES[0]);
+        double largest = medianMicrosBySize.get(TABLE_SIZES[TABLE_SIZES.length - 1]);
+        assertThat(largest).as("month lookup p50 (us) by table size: %s", medianMicrosBySize)
+            .isLessThan(smallest * 3 + 500);
+    }
+
+    private double medianMicros(long userId) {
+        for (int i = 0; i < WARMUP; i++) {
+            findMarch(userId);
+        }
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            findMarch(userId);
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1_000.0;
+    }
+
+    private List<DiaryDetailDto> findMarch(long userId) {
+        entityManager.clear();
+        return diaryRepository.findMonthView(userId, MARCH_FIRST, MARCH_LAST);
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (email, password, nickname, created_at) VALUES (?, ?, ?, ?)",
+            email, "hash", "kong", Timestamp.valueOf(LocalDateTime.now()));
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private static Object[] row(long userId, LocalDate date, int seq) {
+        Mood mood = Mood.values()[seq % Mood.values().length];
+        return new Object[]{seq + 1L, "일기 " + seq, mood.getCode(), MoodStatus.COMPLETED.name(), 1,
+            Date.valueOf(date), Timestamp.valueOf(date.atTime(21, 0)), userId};
+    }
+
+    private void insertDiaries(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO diary (id, content, mood, mood_status, mood_attempts, date, created_at, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,117 @@
+package com.diary.kong.repository;
+
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ✅ 감정 분석 대기열(DB 의 PENDING 상태)을 다루는 쿼리: 선점/임대, 결과 반영, 미루기, 스위퍼 후보
+@DataJpaTest(showSql = false, properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class DiaryMoodQueueQueryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 12, 0);
+    private static final LocalDateTime LEASE_UNTIL = NOW.plusMinutes(2);
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password, nickname) VALUES (?, ?, ?)", "queue@kong.com", "hash", "kong");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, "queue@kong.com");
+    }
+
+    @Test
+    void claimTakesALeaseThatOtherWorkersCannotTakeUntilItExpires() {
+        insert(1, MoodStatus.PENDING, null, null);
+
+        assertThat(diaryRepository.claimMoodAnalysis(1L, MoodStatus.PENDING, NOW, LEASE_UNTIL)).isEqualTo(1);
+        assertThat(diaryRepository.claimMoodAnalysis(1L, MoodStatus.PENDING, NOW.plusMinutes(1), LEASE_UNTIL.plusMinutes(1)))
+            .isZero();
+        assertThat(attempts(1)).isEqualTo(1);
+
+        // 임대가 끝나면 (처리하던 노드가 죽었으면) 다른 워커가 다시 가져간다
+        assertThat(diaryRepository.claimMoodAnalysis(1L, MoodStatus.PENDING, LEASE_UNTIL, LEASE_UNTIL.plusMinutes(2)))
+            .isEqualTo(1);
+        assertThat(attempts(1)).isEqualTo(2);
+    }
+
+    @Test
+    void finishedDiaryCannotBeClaimed() {
+        insert(1, MoodStatus.COMPLETED, Mood.HAPPY, null);
+
+        assertThat(diaryRepository.claimMoodAnalysis(1L, MoodStatus.PENDING, NOW, LEASE_UNTIL)).isZero();
+    }
+
+    @Test
+    void resultIsWrittenOnlyWhilePending() {
+        insert(1, MoodStatus.PENDING, null, LEASE_UNTIL);
+
+        assertThat(diaryRepository.updateMoodResult(1L, Mood.HAPPY, MoodStatus.COMPLETED)).isEqualTo(1);
+        // 임대가 끝나 다른 워커도 같은 일기를 끝냈다: 두 번째 결과는 반영되지 않는다 (감정 통계도 한 번만 센다)
+        assertThat(diaryRepository.updateMoodResult(1L, Mood.SAD, MoodStatus.COMPLETED)).isZero();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT mood FROM diary WHERE id = 1", Short.class))
+            .isEqualTo(Mood.HAPPY.getCode());
+        assertThat(jdbcTemplate.queryForObject("SELECT mood_next_attempt_at FROM diary WHERE id = 1", Timestamp.class))
+            .isNull();
+    }
+
+    @Test
+    void deferGivesBackTheClaimedAttempt() {
+        insert(1, MoodStatus.PENDING, null, null);
+        diaryRepository.claimMoodAnalysis(1L, MoodStatus.PENDING, NOW, LEASE_UNTIL);
+
+        assertThat(diaryRepository.deferMoodAnalysis(1L, NOW.plusSeconds(30))).isEqualTo(1);
+
+        assertThat(attempts(1)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT mood_next_attempt_at FROM diary WHERE id = 1", Timestamp.class))
+            .isEqualTo(Timestamp.valueOf(NOW.plusSeconds(30)));
+    }
+
+    @Test
+    void sweeperSkipsLeasedBackedOffAndFinishedDiaries() {
+        insert(1, MoodStatus.PENDING, null, null);                 // 아직 시도 전
+        insert(2, MoodStatus.PENDING, null, NOW.plusMinutes(1));   // 처리 중(임대) 또는 백오프 중
+        insert(3, MoodStatus.PENDING, null, NOW.minusSeconds(1));  // 재시도 시각이 지남
+        insert(4, MoodStatus.COMPLETED, Mood.CALM, null);
+        insert(5, MoodStatus.FAILED, Mood.NEUTRAL, null);
+
+        assertThat(diaryRepository.findMoodAnalysisCandidates(MoodStatus.PENDING, NOW, PageRequest.of(0, 10)))
+            .containsExactly(1L, 3L);
+        assertThat(diaryRepository.findMoodAnalysisCandidates(MoodStatus.PENDING, NOW, PageRequest.of(0, 1)))
+            .containsExactly(1L);
+    }
+
+    private void insert(long id, MoodStatus status, Mood mood, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("INSERT INTO diary (id, content, mood, mood_status, mood_attempts, mood_next_attempt_at, "
+                + "date, created_at, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            id, "일기 " + id, mood == null ? null : mood.getCode(), status.name(), 0,
+            nextAttemptAt == null ? null : Timestamp.valueOf(nextAttemptAt),
+            Date.valueOf(LocalDate.of(2025, 3, 1)), Timestamp.valueOf(NOW.minusHours(1)), userId);
+    }
+
+    private int attempts(long id) {
+        return jdbcTemplate.queryForObject("SELECT mood_attempts FROM diary WHERE id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,72 @@
+package com.diary.kong.security;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "CJQ/O+LTpXHjBnaoDj9Feni1dtHWNMU6I1nHYywa+HA=";
+    private static final String PATTERN = "/api/v1/diaries/user/{userId}";
+
+    // DispatcherServlet 처럼 체인 안에서 매핑 패턴을 정한다
+    private static final FilterChain MAPPING_CHAIN = (request, response) ->
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = new JwtTokenProvider(null, meterRegistry, SECRET, 3_600_000L, 1_209_600_000L);
+        filter = new JwtAuthenticationFilter(tokenProvider,
+            new VerifiedTokenCache(meterRegistry, true, 100, 300_000), meterRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void verificationIsTimedPerEndpointAndResult() throws Exception {
+        String token = tokenProvider.generateAccessToken("kong@kong.com");
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), MAPPING_CHAIN);
+        filter.doFilter(request(token), new MockHttpServletResponse(), MAPPING_CHAIN);
+        filter.doFilter(request("not-a-jwt"), new MockHttpServletResponse(), MAPPING_CHAIN);
+
+        assertThat(verifyTimer("verified").count()).isEqualTo(1);
+        assertThat(verifyTimer("cached").count()).isEqualTo(1);
+        assertThat(verifyTimer("invalid").count()).isEqualTo(1);
+    }
+
+    @Test
+    void requestsWithoutTokenAreNotTimed() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/diaries/user/1"),
+            new MockHttpServletResponse(), MAPPING_CHAIN);
+
+        assertThat(meterRegistry.find("jwt.verify").timers()).isEmpty();
+    }
+
+    private Timer verifyTimer(String result) {
+        return meterRegistry.get("jwt.verify").tags("result", result, "endpoint", PATTERN).timer();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/diaries/user/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package com.diary.kong.security;
+
+import com.diary.kong.common.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void shutdown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void calibrationPicksHighestStrengthWithinTarget() {
+        // strength 10 에서 30ms, 한 단계마다 두 배: 11 = 60ms, 12 = 120ms
+        assertThat(PasswordHasher.calibrate(10, 14, 100, strength -> millis(30))).isEqualTo(11);
+        assertThat(PasswordHasher.calibrate(10, 14, 120, strength -> millis(30))).isEqualTo(12);
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(PasswordHasher.calibrate(10, 14, 100, strength -> millis(300))).isEqualTo(10);
+        assertThat(PasswordHasher.calibrate(10, 14, 100_000, strength -> millis(1))).isEqualTo(14);
+    }
+
+    @Test
+    void weakerHashesNeedRehash() {
+        hasher = hasher(1, 4, 5);
+        String weak = new BCryptPasswordEncoder(4).encode("kong-password");
+        String current = hasher.encode("kong-password");
+
+        assertThat(hasher.matches("kong-password", weak)).isTrue();
+        assertThat(hasher.needsRehash(weak)).isTrue();
+        assertThat(hasher.needsRehash(current)).isFalse();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("kong-password"))).isFalse();
+    }
+
+    @Test
+    void fullQueueIsRejected() throws Exception {
+        hasher = hasher(1, 1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // 스레드 하나는 붙잡고, 대기열 한 칸은 채운다
+        CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> hasher.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = hasher.encodeInBackground("kong-password");
+
+        assertThatThrownBy(() -> hasher.encode("kong-password")).isInstanceOf(TooManyRequestsException.class);
+        assertThat(hasher.encodeInBackground("kong-password")).isCompletedExceptionally();
+        assertThat(meterRegistry.counter("auth.password.rejected").count()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+        assertThat(hasher.matches("kong-password", queued.get(5, TimeUnit.SECONDS))).isTrue();
+    }
+
+    private PasswordHasher hasher(int threads, int queueCapacity, int strength) {
+        return new PasswordHasher(meterRegistry, threads, queueCapacity, 5_000, strength, 100, 10, 14);
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
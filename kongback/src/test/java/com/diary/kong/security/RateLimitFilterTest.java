@@ -0,0 +1,61 @@
+package com.diary.kong.security;
+
+import com.diary.kong.common.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RateLimitFilterTest {
+
+    private RateLimiter rateLimiter;
+    private FilterChain chain;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(RateLimiter.class);
+        chain = mock(FilterChain.class);
+        filter = new RateLimitFilter(rateLimiter, new ObjectMapper());
+    }
+
+    @Test
+    void rejectedLoginGets429WithRetryAfter() throws Exception {
+        doThrow(new TooManyRequestsException("요청이 너무 많습니다. 잠시 후 다시 시도하세요.", 7))
+            .when(rateLimiter).acquire(RateLimiter.Policy.LOGIN_IP, "10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/api/v1/auth/login"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("7");
+        assertThat(response.getContentAsString()).contains("\"status\":429");
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void onlyAuthPostsAreCounted() throws Exception {
+        filter.doFilter(request("POST", "/api/v1/user/signup"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("OPTIONS", "/api/v1/auth/login"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/v1/diaries/create"), new MockHttpServletResponse(), chain);
+
+        verify(rateLimiter).acquire(RateLimiter.Policy.SIGNUP_IP, "10.0.0.1");
+        verify(rateLimiter).acquire(any(), anyString());
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,231 @@
+package com.diary.kong.security;
+
+import com.diary.kong.common.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+
+    private static final RateLimiter.Policy LOGIN_IP = RateLimiter.Policy.LOGIN_IP;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+    }
+
+    @Test
+    void burstUpToCapacityThenRejectUntilRefilled() {
+        // 용량 3, 초당 1개
+        RateLimiter limiter = limiter(500, new RateLimiter.Limit(3, 60));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(LOGIN_IP, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.1"))
+            .isInstanceOfSatisfying(TooManyRequestsException.class, e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThatCode(() -> limiter.acquire(LOGIN_IP, "10.0.0.2")).doesNotThrowAnyException();
+
+        // 쓴 토큰은 동기화로 스냅샷에 반영된 뒤부터 다시 채워진다
+        limiter.sync();
+        now.addAndGet(1_000);
+        assertThatCode(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(requests("allowed")).isEqualTo(5);
+        assertThat(requests("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncSendsConsumptionInOneCallAndAdoptsClusterState() {
+        RateLimiter limiter = limiter(500, new RateLimiter.Limit(10, 60));
+        List<Object[]> calls = new ArrayList<>();
+        // 다른 노드가 10.0.0.1 의 토큰을 모두 써 버린 상태
+        when(redisTemplate.execute(syncScript(), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            calls.add(invocation.getRawArguments());
+            List<Long> remaining = new ArrayList<>();
+            for (String key : keys) {
+                remaining.add(key.endsWith("10.0.0.1") ? 0L : 9_000L);
+            }
+            return remaining;
+        });
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(LOGIN_IP, "10.0.0.1");
+        }
+        limiter.acquire(LOGIN_IP, "10.0.0.2");
+        limiter.sync();
+
+        assertThat(calls).hasSize(1);
+        List<String> keys = (List<String>) calls.get(0)[1];
+        assertThat(keys).containsExactlyInAnyOrder("RL:login-ip:10.0.0.1", "RL:login-ip:10.0.0.2");
+        Object[] args = (Object[]) calls.get(0)[2];
+        int first = keys.indexOf("RL:login-ip:10.0.0.1");
+        assertThat(args[3 * first]).isEqualTo("10");
+        assertThat(args[3 * first + 2]).isEqualTo("3");
+
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> limiter.acquire(LOGIN_IP, "10.0.0.2")).doesNotThrowAnyException();
+
+        // 쓰이지 않은 버킷은 다음 동기화에서 보내지 않는다
+        limiter.sync();
+        limiter.sync();
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncIsSplitIntoBatches() {
+        RateLimiter limiter = limiter(2, new RateLimiter.Limit(10, 60));
+        when(redisTemplate.execute(syncScript(), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            return keys.stream().map(key -> 9_000L).toList();
+        });
+
+        for (int i = 1; i <= 5; i++) {
+            limiter.acquire(LOGIN_IP, "10.0.0." + i);
+        }
+        limiter.sync();
+
+        verify(redisTemplate, times(3)).execute(syncScript(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redisFailureKeepsLocalLimit() {
+        RateLimiter limiter = limiter(500, new RateLimiter.Limit(3, 60));
+        when(redisTemplate.execute(syncScript(), anyList(), any(Object[].class)))
+            .thenThrow(new IllegalStateException("redis down"));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(LOGIN_IP, "10.0.0.1");
+        }
+        limiter.sync();
+
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("auth.ratelimit.sync.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void idleBucketsAreDroppedOnceFull() {
+        RateLimiter limiter = limiter(500, new RateLimiter.Limit(3, 60));
+        when(redisTemplate.execute(syncScript(), anyList(), any(Object[].class))).thenReturn(List.of(2_000L));
+
+        limiter.acquire(LOGIN_IP, "10.0.0.1");
+        limiter.sync();
+        assertThat(buckets()).isEqualTo(1);
+
+        now.addAndGet(500);
+        limiter.sync();
+        assertThat(buckets()).isEqualTo(1);
+
+        now.addAndGet(500);
+        limiter.sync();
+        assertThat(buckets()).isZero();
+    }
+
+    @Test
+    void refillAboveCapacityDoesNotCoverConsumptionSinceLastSync() {
+        // 용량 3, 초당 1개
+        RateLimiter limiter = limiter(500, new RateLimiter.Limit(3, 60));
+        limiter.acquire(LOGIN_IP, "10.0.0.1");
+
+        // 오래 쉬어도 버킷은 용량까지만 찬다: 동기화 전까지 모두 합쳐 3개
+        now.addAndGet(10_000);
+        limiter.acquire(LOGIN_IP, "10.0.0.1");
+        limiter.acquire(LOGIN_IP, "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void newKeyStartsFromRemainingTokensInRedis() {
+        RateLimiter limiter = limiter(500, new RateLimiter.Limit(5, 1));
+        // 다른 노드가 이미 다 써 버린 키
+        when(redisTemplate.execute(peekScript(), eq(List.of("RL:login-ip:10.0.0.1")), any(Object[].class)))
+            .thenReturn(0L);
+
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> limiter.acquire(LOGIN_IP, "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void idleBucketIsEvictedForNewKeyAndResumesFromRedisWhenSeenAgain() {
+        RateLimiter limiter = new RateLimiter(redisTemplate, meterRegistry, true, 1, 500,
+            Map.of(LOGIN_IP, new RateLimiter.Limit(1, 1)), now::get);
+        when(redisTemplate.execute(syncScript(), anyList(), any(Object[].class))).thenReturn(List.of(0L));
+
+        limiter.acquire(LOGIN_IP, "10.0.0.1");
+        limiter.sync();
+        limiter.acquire(LOGIN_IP, "10.0.0.2");
+        limiter.sync();
+
+        assertThat(buckets()).isEqualTo(1);
+        assertThat(meterRegistry.counter("auth.ratelimit.evictions").count()).isEqualTo(1);
+
+        // 내보낸 키가 다시 와도 새로 가득 찬 버킷이 아니라 Redis 에 남은 토큰에서 시작한다
+        when(redisTemplate.execute(peekScript(), eq(List.of("RL:login-ip:10.0.0.1")), any(Object[].class)))
+            .thenReturn(0L);
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void newKeyIsRejectedWhenEveryBucketIsInUse() {
+        RateLimiter limiter = new RateLimiter(redisTemplate, meterRegistry, true, 1, 500,
+            Map.of(LOGIN_IP, new RateLimiter.Limit(5, 1)), now::get);
+
+        limiter.acquire(LOGIN_IP, "10.0.0.1");
+
+        // 10.0.0.1 은 아직 동기화되지 않았으므로 내보낼 수 없다: 새 키를 제한 없이 통과시키지 않는다
+        assertThatThrownBy(() -> limiter.acquire(LOGIN_IP, "10.0.0.2")).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> limiter.acquire(LOGIN_IP, "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(buckets()).isEqualTo(1);
+        assertThat(meterRegistry.counter("auth.ratelimit.overflows").count()).isEqualTo(1);
+    }
+
+    private RateLimiter limiter(int syncBatchSize, RateLimiter.Limit limit) {
+        return new RateLimiter(redisTemplate, meterRegistry, true, 100, syncBatchSize, Map.of(LOGIN_IP, limit), now::get);
+    }
+
+    private static RedisScript<List<Long>> syncScript() {
+        return argThat(script -> script != null && List.class.equals(script.getResultType()));
+    }
+
+    private static RedisScript<Long> peekScript() {
+        return argThat(script -> script != null && Long.class.equals(script.getResultType()));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("auth.ratelimit.requests", "policy", "login-ip", "result", result).count();
+    }
+
+    private double buckets() {
+        return meterRegistry.get("auth.ratelimit.buckets").gauge().value();
+    }
+}
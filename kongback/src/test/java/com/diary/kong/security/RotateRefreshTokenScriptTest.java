@@ -0,0 +1,115 @@
+package com.diary.kong.security;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ✅ 비교/잔여 TTL 확인/회전을 실제 redis-server 에서 Lua 스크립트 그대로 돌려 본다
+class RotateRefreshTokenScriptTest {
+
+    private static final String KEY = "RT:kong@kong.com";
+    private static final String TOKEN = "refresh-token";
+    private static final String NEW_TOKEN = "new-refresh-token";
+    private static final long REFRESH_TTL_MILLIS = TimeUnit.DAYS.toMillis(14);
+
+    private static final RedisScript<Long> SCRIPT =
+        RedisScript.of(new ClassPathResource("redis/rotate-refresh-token.lua"), Long.class);
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redis = RedisServer.newRedisServer()
+            .bind("127.0.0.1")
+            .port(port)
+            .setting("save \"\"")
+            .setting("appendonly no")
+            .build();
+        redis.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redis.stop();
+    }
+
+    @BeforeEach
+    void clear() {
+        redisTemplate.delete(KEY);
+    }
+
+    @Test
+    void missingOrDifferentTokenIsRejected() {
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_MISMATCH);
+
+        redisTemplate.opsForValue().set(KEY, "other-token", Duration.ofDays(1));
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_MISMATCH);
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo("other-token");
+    }
+
+    @Test
+    void tokenWithEnoughTtlLeftIsKept() {
+        redisTemplate.opsForValue().set(KEY, TOKEN, Duration.ofDays(7));
+
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_KEPT);
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo(TOKEN);
+        assertThat(redisTemplate.getExpire(KEY, TimeUnit.DAYS)).isBetween(6L, 7L);
+    }
+
+    @Test
+    void tokenCloseToExpiryIsRotatedWithAFreshTtl() {
+        redisTemplate.opsForValue().set(KEY, TOKEN, Duration.ofDays(1));
+
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_ROTATED);
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo(NEW_TOKEN);
+        assertThat(redisTemplate.getExpire(KEY, TimeUnit.MILLISECONDS))
+            .isGreaterThan(REFRESH_TTL_MILLIS - TimeUnit.MINUTES.toMillis(1));
+
+        // 회전된 뒤에는 이전 토큰으로 다시 갱신할 수 없다
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_MISMATCH);
+    }
+
+    @Test
+    void legacyJsonQuotedTokenIsAccepted() {
+        // 직렬화 변경 전에는 Jackson 이 문자열을 "..." 로 감싸서 저장했다
+        redisTemplate.opsForValue().set(KEY, "\"" + TOKEN + "\"", Duration.ofDays(7));
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_KEPT);
+
+        redisTemplate.opsForValue().set(KEY, "\"" + TOKEN + "\"", Duration.ofDays(1));
+        assertThat(rotate(TOKEN)).isEqualTo(JwtTokenProvider.ROTATE_ROTATED);
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo(NEW_TOKEN);
+    }
+
+    // JwtTokenProvider.refreshToken 과 같은 인자 순서
+    private Long rotate(String presentedToken) {
+        return redisTemplate.execute(SCRIPT, List.of(KEY), presentedToken, NEW_TOKEN,
+            String.valueOf(JwtTokenProvider.ROTATION_THRESHOLD_MILLIS), String.valueOf(REFRESH_TTL_MILLIS));
+    }
+}
@@ -0,0 +1,39 @@
+package com.diary.kong.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, true, 2, 300_000);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        cache.put("token-a", "a@kong.com", expiresAt);
+        cache.put("token-b", "b@kong.com", expiresAt);
+        cache.get("token-a");
+
+        cache.put("token-c", "c@kong.com", expiresAt);
+
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.get("token-a")).isEqualTo("a@kong.com");
+        assertThat(cache.get("token-c")).isEqualTo("c@kong.com");
+        assertThat(meterRegistry.get("jwt.verified.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void tokenIsNotServedPastItsOwnExpiry() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(meterRegistry, true, 10, 300_000);
+        cache.put("token-a", "a@kong.com", System.currentTimeMillis() + 20);
+        assertThat(cache.get("token-a")).isEqualTo("a@kong.com");
+
+        Thread.sleep(40);
+
+        assertThat(cache.get("token-a")).isNull();
+        assertThat(meterRegistry.get("jwt.verified.cache.size").gauge().value()).isZero();
+    }
+}
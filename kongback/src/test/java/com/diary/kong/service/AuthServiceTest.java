@@ -0,0 +1,97 @@
+package com.diary.kong.service;
+
+import com.diary.kong.cache.UserCache;
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.dto.UserLoginDto;
+import com.diary.kong.model.User;
+import com.diary.kong.security.JwtTokenProvider;
+import com.diary.kong.security.PasswordHasher;
+import com.diary.kong.security.RateLimiter;
+import com.diary.kong.security.TokenResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private static final String PASSWORD = "kong-password";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserCache userCache;
+    private UserService userService;
+    private RateLimiter rateLimiter;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userCache = mock(UserCache.class);
+        userService = mock(UserService.class);
+        JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+        when(jwtTokenProvider.createToken(anyString())).thenReturn(new TokenResponse("access", "refresh"));
+
+        rateLimiter = mock(RateLimiter.class);
+
+        PasswordHasher passwordHasher = new PasswordHasher(meterRegistry, 1, 4, 5_000, 5, 100, 4, 5);
+        authService = new AuthService(userCache, userService, passwordHasher, jwtTokenProvider, rateLimiter,
+            meterRegistry);
+    }
+
+    @Test
+    void loginUpgradesWeakerHash() {
+        User user = user(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        when(userCache.findByEmail("kong@kong.com")).thenReturn(Optional.of(user));
+
+        authService.login(login(PASSWORD));
+
+        verify(userService, timeout(2_000)).upgradePasswordHash(eq(user),
+            argThat(newHash -> newHash.startsWith("$2a$05$") && new BCryptPasswordEncoder().matches(PASSWORD, newHash)));
+    }
+
+    @Test
+    void currentHashIsLeftAlone() {
+        User user = user(new BCryptPasswordEncoder(5).encode(PASSWORD));
+        when(userCache.findByEmail("kong@kong.com")).thenReturn(Optional.of(user));
+
+        authService.login(login(PASSWORD));
+
+        verify(userService, after(200).never()).upgradePasswordHash(any(), anyString());
+    }
+
+    @Test
+    void loginIsLimitedPerNormalizedEmailBeforeLookup() {
+        doThrow(new TooManyRequestsException("요청이 너무 많습니다.", 30))
+            .when(rateLimiter).acquire(RateLimiter.Policy.LOGIN_EMAIL, "kong@kong.com");
+        UserLoginDto dto = login(PASSWORD);
+        dto.setEmail(" Kong@Kong.com ");
+
+        assertThatThrownBy(() -> authService.login(dto)).isInstanceOf(TooManyRequestsException.class);
+        verify(userCache, never()).findByEmail(anyString());
+    }
+
+    private static User user(String encodedPassword) {
+        return User.builder().id(1L).email("kong@kong.com").password(encodedPassword).nickname("kong").build();
+    }
+
+    private static UserLoginDto login(String password) {
+        UserLoginDto dto = new UserLoginDto();
+        dto.setEmail("kong@kong.com");
+        dto.setPassword(password);
+        return dto;
+    }
+}
@@ -0,0 +1,140 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.TooManyRequestsException;
+import com.diary.kong.dto.DiaryDetailDto;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.repository.DiaryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DiaryExportServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final DiaryRepository diaryRepository = mock(DiaryRepository.class);
+    private final DiaryExportService exportService = new DiaryExportService(
+        diaryRepository, mock(PlatformTransactionManager.class), objectMapper, 1);
+
+    @Test
+    void ndjsonWritesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeNdjson(Stream.of(diary(1L, "첫 줄\n둘째 줄"), diary(2L, "그냥")), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("content").asText()).isEqualTo("첫 줄\n둘째 줄");
+        assertThat(objectMapper.readTree(lines[1]).get("date").asText()).isEqualTo("2025-03-03");
+    }
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeCsv(Stream.of(diary(1L, "쉼표, 그리고 \"따옴표\"")), out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("\uFEFFid,date,mood,moodStatus,createdAt,content\r\n");
+        assertThat(csv).endsWith(",\"쉼표, 그리고 \"\"따옴표\"\"\"\r\n");
+        assertThat(DiaryExportService.csvField("평범한 내용")).isEqualTo("평범한 내용");
+    }
+
+    @Test
+    void largeExportIsWrittenIncrementally() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        int rows = 200_000;
+
+        // 지연 생성 스트림: 전체 목록을 메모리에 만들지 않고 그대로 흘려보낸다
+        exportService.writeNdjson(IntStream.range(0, rows).mapToObj(i -> diary((long) i, "일기 " + i)), out);
+
+        assertThat(out.lines).isEqualTo(rows);
+        assertThat(out.flushes).isGreaterThanOrEqualTo(rows / 500);
+    }
+
+    @Test
+    void exportReadsPagesAfterTheLastRowOfThePreviousPage() throws Exception {
+        List<DiaryDetailDto> firstPage = LongStream.rangeClosed(1, 500).mapToObj(id -> diary(id, "일기")).toList();
+        DiaryDetailDto last = firstPage.get(499);
+        when(diaryRepository.findPageAfter(eq(7L), eq(LocalDate.of(1000, 1, 1)), eq(0L), any())).thenReturn(firstPage);
+        when(diaryRepository.findPageAfter(eq(7L), eq(LocalDate.parse(last.getDate())), eq(500L), any()))
+            .thenReturn(List.of(diary(501L, "마지막")));
+        CountingOutputStream out = new CountingOutputStream();
+
+        exportService.export(7L, DiaryExportService.Format.NDJSON, out);
+
+        assertThat(out.lines).isEqualTo(501);
+        verify(diaryRepository, times(2)).findPageAfter(eq(7L), any(), any(), any());
+    }
+
+    @Test
+    void exportBeyondConcurrencyLimitIsRejectedUntilTheRunningOneFinishes() throws Exception {
+        when(diaryRepository.findPageAfter(any(), any(), any(), any())).thenReturn(List.of());
+        StreamingResponseBody running = exportService.open(7L, DiaryExportService.Format.CSV);
+
+        assertThatThrownBy(() -> exportService.open(8L, DiaryExportService.Format.CSV))
+            .isInstanceOf(TooManyRequestsException.class);
+
+        running.writeTo(new ByteArrayOutputStream());
+        assertThat(exportService.open(8L, DiaryExportService.Format.CSV)).isNotNull();
+    }
+
+    private static DiaryDetailDto diary(Long id, String content) {
+        return DiaryDetailDto.builder()
+            .id(id)
+            .content(content)
+            .mood("HAPPY")
+            .moodStatus(MoodStatus.COMPLETED)
+            .date(LocalDate.of(2025, 3, 1).plusDays(id % 28).toString())
+            .createdAt(LocalDateTime.of(2025, 3, 1, 21, 0))
+            .build();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long lines;
+        private long flushes;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
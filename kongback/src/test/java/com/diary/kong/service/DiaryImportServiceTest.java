@@ -0,0 +1,132 @@
+package com.diary.kong.service;
+
+import com.diary.kong.cache.UserCache;
+import com.diary.kong.dto.DiaryImportProgressDto;
+import com.diary.kong.model.User;
+import com.diary.kong.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class DiaryImportServiceTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final DiarySearchService diarySearchService = mock(DiarySearchService.class);
+    private DiaryImportService importService;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().email("import@kong.com").password("hash").nickname("kong").build());
+        userId = user.getId();
+
+        UserCache userCache = mock(UserCache.class);
+        when(userCache.findById(userId)).thenReturn(Optional.of(user));
+        MoodAnalysisService moodAnalysisService = mock(MoodAnalysisService.class);
+        // 짝수 번째 일기만 로컬 분류기가 확신한다고 가정
+        when(moodAnalysisService.classifyLocally(anyString()))
+            .thenAnswer(call -> call.<String>getArgument(0).endsWith("0") ? Optional.of("HAPPY") : Optional.empty());
+
+        importService = new DiaryImportService(userCache, userRepository, moodAnalysisService,
+            mock(MoodStatService.class), diarySearchService, mock(ApplicationEventPublisher.class), entityManager, transactionManager,
+            Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), BATCH_SIZE, 50_000);
+    }
+
+    @Test
+    void importsNdjsonStreamInJdbcBatches() {
+        int entries = 2_000;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < entries; i++) {
+            body.append("{\"content\":\"가져온 일기 ").append(i).append("\",\"date\":\"")
+                .append(LocalDate.of(2020, 1, 1).plusDays(i)).append("\"}\n");
+        }
+        body.append("{\"content\":\"\",\"date\":\"2025-01-01\"}\n");         // 내용 없음
+        body.append("{\"content\":\"날짜 오류\",\"date\":\"2025-13-40\"}\n");   // 잘못된 날짜
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<DiaryImportProgressDto> progress = new ArrayList<>();
+
+        DiaryImportProgressDto result = importService.importDiaries(userId,
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), progress::add);
+
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.getError()).isNull();
+        assertThat(result.getImported()).isEqualTo(entries);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        assertThat(result.getPendingMood()).isEqualTo(entries - entries / 10);
+        assertThat(result.getBatches()).isEqualTo(5);
+        assertThat(progress).hasSize(5).extracting(DiaryImportProgressDto::getImported)
+            .containsExactly(500L, 1_000L, 1_500L, 2_000L, 2_000L);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM diary WHERE user_id = ?", Long.class, userId))
+            .isEqualTo(entries);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM diary WHERE mood_status = 'PENDING'", Long.class))
+            .isEqualTo(entries - entries / 10);
+
+        // 2,000 건의 insert 가 배치로 묶였다면 준비된 문장 수는 배치 수 + id 할당 수 정도에 그친다
+        // (IDENTITY 였다면 insert 마다 하나씩 2,000 개 이상)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+    }
+
+    @Test
+    void failedBatchIsNotCountedAndCauseIsNotSentToClient() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 800; i++) {
+            body.append("{\"content\":\"가져온 일기 ").append(i).append("\",\"date\":\"2025-01-01\"}\n");
+        }
+        // 두 번째 배치의 중간에서 저장이 실패한다
+        doThrow(new IllegalStateException("Duplicate entry 'secret' for key 'PRIMARY'"))
+            .when(diarySearchService).index(argThat(diary -> diary.getContent().equals("가져온 일기 650")));
+
+        DiaryImportProgressDto result = importService.importDiaries(userId,
+            new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), progress -> { });
+
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.getImported()).isEqualTo(BATCH_SIZE);
+        assertThat(result.getBatches()).isEqualTo(1);
+        assertThat(result.getError()).isNotNull().doesNotContain("Duplicate entry");
+    }
+}
@@ -0,0 +1,155 @@
+package com.diary.kong.service;
+
+import com.diary.kong.dto.DiarySearchHitDto;
+import com.diary.kong.dto.DiarySearchPageDto;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.model.User;
+import com.diary.kong.repository.DiaryRepository;
+import com.diary.kong.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false, properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({DiarySearchService.class, DiarySearchServiceTest.Metrics.class})
+class DiarySearchServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private DiarySearchService diarySearchService;
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().email("search@kong.com").password("hash").nickname("kong").build());
+        other = userRepository.save(User.builder().email("other@kong.com").password("hash").nickname("kong").build());
+    }
+
+    @Test
+    void findsKoreanWordsRegardlessOfParticlesAndRanksByFrequency() {
+        Diary once = write(user, 1, "아침에 공원에서 산책을 했다. 날씨가 맑았다.");
+        Diary twice = write(user, 2, "산책했다. 저녁에도 강아지와 산책.");
+        write(user, 3, "하루 종일 집에서 책을 읽었다.");
+        write(other, 4, "다른 사람의 산책 일기");
+
+        DiarySearchPageDto result = diarySearchService.search(user.getId(), "산책", 0, 20);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getItems()).extracting(hit -> hit.getDiary().getId())
+            .containsExactly(twice.getId(), once.getId());
+    }
+
+    @Test
+    void requiresTermsToBeContiguousAndSupportsSingleCharacterQueries() {
+        Diary rain = write(user, 1, "봄비가 내렸다");
+        write(user, 2, "산책 후에 책길 서점에 갔다");   // 산책 + 책길 bigram 은 있지만 "산책길" 은 없다
+
+        assertThat(diarySearchService.search(user.getId(), "산책길", 0, 20).getTotal()).isZero();
+        // 한 글자 검색어는 구간 중간/끝 글자여도 찾는다
+        assertThat(diarySearchService.search(user.getId(), "비", 0, 20).getItems())
+            .extracting(hit -> hit.getDiary().getId()).containsExactly(rain.getId());
+        assertThat(diarySearchService.search(user.getId(), "ＳＰＲＩＮＧ", 0, 20).getTotal()).isZero();
+    }
+
+    @Test
+    void paginatesAndFollowsContentChanges() {
+        for (int day = 1; day <= 25; day++) {
+            write(user, day, String.format("오늘의 감사 일기 %02d", day));
+        }
+
+        DiarySearchPageDto first = diarySearchService.search(user.getId(), "감사 일기", 0, 10);
+        DiarySearchPageDto last = diarySearchService.search(user.getId(), "감사 일기", 2, 10);
+        assertThat(first.getTotal()).isEqualTo(25);
+        assertThat(first.getItems()).hasSize(10);
+        assertThat(last.getItems()).hasSize(5);
+        // 점수가 같으면 최신 일기부터
+        assertThat(first.getItems().get(0).getDiary().getDate()).isEqualTo("2025-01-25");
+
+        Diary edited = diaryRepository.findAll().get(0);
+        edited.setContent("수영장에 다녀왔다");
+        diarySearchService.reindex(edited);
+        assertThat(diarySearchService.search(user.getId(), "감사", 0, 100).getTotal()).isEqualTo(24);
+        assertThat(diarySearchService.search(user.getId(), "수영", 0, 100).getItems())
+            .extracting(DiarySearchHitDto::getDiary).extracting("id").containsExactly(edited.getId());
+
+        diarySearchService.remove(edited.getId());
+        assertThat(diarySearchService.search(user.getId(), "수영", 0, 100).getTotal()).isZero();
+    }
+
+    @Test
+    void backfillIndexesLegacyDiariesAndMarksEmptyOnesSoTheyAreNotReadAgain() {
+        Diary legacy = diaryRepository.save(legacy(user, 1, "예전에 쓴 산책 일기"));
+        diaryRepository.save(legacy(user, 2, ""));
+        write(user, 3, "새로 쓴 산책 일기");
+        assertThat(diaryRepository.findUnindexedIds(0L, PageRequest.ofSize(10))).hasSize(2);
+
+        new DiarySearchIndexBackfill(diaryRepository, diarySearchService, entityManager, transactionManager, true, 1)
+            .backfill();
+
+        assertThat(diaryRepository.findUnindexedIds(0L, PageRequest.ofSize(10))).isEmpty();
+        assertThat(diarySearchService.search(user.getId(), "예전", 0, 20).getItems())
+            .extracting(hit -> hit.getDiary().getId()).containsExactly(legacy.getId());
+    }
+
+    private static Diary legacy(User owner, int day, String content) {
+        return Diary.builder()
+            .content(content)
+            .moodStatus(MoodStatus.COMPLETED)
+            .date(LocalDate.of(2024, 1, day))
+            .createdAt(LocalDateTime.now())
+            .user(owner)
+            .searchIndexed(false)
+            .build();
+    }
+
+    private Diary write(User owner, int day, String content) {
+        Diary diary = diaryRepository.save(Diary.builder()
+            .content(content)
+            .moodStatus(MoodStatus.PENDING)
+            .date(LocalDate.of(2025, 1, day))
+            .createdAt(LocalDateTime.now())
+            .user(owner)
+            .build());
+        diarySearchService.index(diary);
+        return diary;
+    }
+}
@@ -0,0 +1,155 @@
+package com.diary.kong.service;
+
+import com.diary.kong.cache.MonthVersionStamps;
+import com.diary.kong.cache.MonthlyDiaryCache;
+import com.diary.kong.cache.UserCache;
+import com.diary.kong.common.CustomException;
+import com.diary.kong.dto.DiaryMoodDto;
+import com.diary.kong.dto.DiarySaveDto;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.model.User;
+import com.diary.kong.repository.DiaryRepository;
+import com.diary.kong.repository.UserRepository;
+import com.diary.kong.security.JwtAuthenticationToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DiaryServiceTest {
+
+    private static final Long DIARY_ID = 10L;
+
+    private final User owner = User.builder().id(1L).email("owner@kong.com").password("hash").nickname("kong").build();
+    private final User stranger = User.builder().id(2L).email("stranger@kong.com").password("hash").nickname("kong").build();
+
+    private DiaryRepository diaryRepository;
+    private DiarySearchService diarySearchService;
+    private MoodStatService moodStatService;
+    private DiaryService diaryService;
+    private Diary diary;
+
+    @BeforeEach
+    void setUp() {
+        diaryRepository = mock(DiaryRepository.class);
+        diarySearchService = mock(DiarySearchService.class);
+        moodStatService = mock(MoodStatService.class);
+        UserCache userCache = mock(UserCache.class);
+        when(userCache.findByEmail(owner.getEmail())).thenReturn(Optional.of(owner));
+        when(userCache.findByEmail(stranger.getEmail())).thenReturn(Optional.of(stranger));
+
+        diaryService = new DiaryService(diaryRepository, mock(UserRepository.class), userCache,
+            mock(MonthlyDiaryCache.class), mock(MonthVersionStamps.class), mock(MoodAnalysisService.class),
+            moodStatService, diarySearchService, mock(ApplicationEventPublisher.class));
+
+        diary = Diary.builder()
+            .id(DIARY_ID)
+            .content("원래 내용")
+            .mood(Mood.HAPPY)
+            .moodStatus(MoodStatus.COMPLETED)
+            .date(LocalDate.of(2025, 3, 1))
+            .user(owner)
+            .build();
+        when(diaryRepository.findByIdForUpdate(DIARY_ID)).thenReturn(Optional.of(diary));
+        when(diaryRepository.save(any(Diary.class))).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ownerCanUpdate() {
+        signIn(owner);
+
+        diaryService.updateDiary(DIARY_ID, content("고친 내용"));
+
+        assertThat(diary.getContent()).isEqualTo("고친 내용");
+        verify(diarySearchService).reindex(diary);
+        // 워커의 감정 결과 반영과 겹치지 않도록 잠그고 읽는다
+        verify(diaryRepository).findByIdForUpdate(DIARY_ID);
+        verify(diaryRepository, never()).findById(any());
+    }
+
+    @Test
+    void otherUserCannotUpdate() {
+        signIn(stranger);
+
+        assertThatThrownBy(() -> diaryService.updateDiary(DIARY_ID, content("남의 일기")))
+            .isInstanceOf(CustomException.class)
+            .hasMessage("권한이 없습니다.");
+        assertThat(diary.getContent()).isEqualTo("원래 내용");
+        verify(diaryRepository, never()).save(any());
+    }
+
+    @Test
+    void ownerCanDelete() {
+        signIn(owner);
+
+        diaryService.deleteDiary(DIARY_ID);
+
+        verify(diaryRepository).delete(diary);
+        verify(moodStatService).decrement(owner.getId(), diary.getDate(), Mood.HAPPY);
+    }
+
+    @Test
+    void otherUserCannotDelete() {
+        signIn(stranger);
+
+        assertThatThrownBy(() -> diaryService.deleteDiary(DIARY_ID))
+            .isInstanceOf(CustomException.class)
+            .hasMessage("권한이 없습니다.");
+        verify(diaryRepository, never()).delete(any());
+        verify(diarySearchService, never()).remove(any());
+    }
+
+    @Test
+    void moodStatusIsReadOnlyForTheOwner() {
+        when(diaryRepository.findMoodView(DIARY_ID, owner.getId()))
+            .thenReturn(Optional.of(new DiaryMoodDto(DIARY_ID, Mood.HAPPY, MoodStatus.COMPLETED, 1)));
+
+        signIn(owner);
+        assertThat(diaryService.getMoodStatus(DIARY_ID).getMood()).isEqualTo("HAPPY");
+
+        signIn(stranger);
+        assertThatThrownBy(() -> diaryService.getMoodStatus(DIARY_ID))
+            .isInstanceOf(CustomException.class)
+            .hasMessage("일기를 찾을 수 없습니다.");
+    }
+
+    @Test
+    void pathUserMustBeTheSignedInUser() {
+        signIn(stranger);
+
+        assertThatThrownBy(() -> diaryService.verifyOwnership(owner.getId()))
+            .isInstanceOf(CustomException.class)
+            .hasMessage("권한이 없습니다.");
+        diaryService.verifyOwnership(stranger.getId());
+    }
+
+    // JwtAuthenticationFilter 처럼 인증 주체 이름에 토큰의 email 을 넣는다
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(user.getEmail(), null, null));
+    }
+
+    private static DiarySaveDto content(String content) {
+        DiarySaveDto dto = new DiarySaveDto();
+        dto.setContent(content);
+        return dto;
+    }
+}
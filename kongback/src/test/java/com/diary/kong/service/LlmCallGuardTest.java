@@ -0,0 +1,93 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmCallGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LlmCallGuard guard;
+
+    @AfterEach
+    void shutdown() {
+        if (guard != null) {
+            guard.shutdown();
+        }
+    }
+
+    @Test
+    void fullBulkheadRejectsWithTooManyRequests() throws Exception {
+        guard = guard(1, 1, 5_000, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 스레드 하나는 붙잡고, 대기열 한 칸은 채운다
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "HAPPY";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> guard.execute(() -> "CALM"));
+        waitForQueued(1);
+
+        assertThatThrownBy(() -> guard.execute(() -> "SAD")).isInstanceOf(TooManyRequestsException.class);
+        assertThat(calls("rejected")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("HAPPY");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("CALM");
+    }
+
+    @Test
+    void slowCallIsCutOffAtTheDeadline() {
+        guard = guard(1, 1, 50, 10);
+
+        assertThatThrownBy(() -> guard.execute(() -> {
+            Thread.sleep(5_000);
+            return "HAPPY";
+        })).isInstanceOf(LlmCallFailedException.class);
+
+        assertThat(calls("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedFailuresOpenTheCircuitAndShortCircuitLaterCalls() {
+        guard = guard(2, 2, 5_000, 2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw new IllegalStateException("500 from model");
+            })).isInstanceOf(LlmCallFailedException.class).hasRootCauseMessage("500 from model");
+        }
+
+        assertThatThrownBy(() -> guard.execute(() -> "HAPPY")).isInstanceOf(LlmUnavailableException.class);
+        assertThat(calls("failure")).isEqualTo(2);
+        assertThat(calls("short_circuited")).isEqualTo(1);
+        assertThat(guard.retryAfterMillis()).isPositive();
+    }
+
+    private LlmCallGuard guard(int maxConcurrent, int queueCapacity, long timeoutMs, int minimumCalls) {
+        return new LlmCallGuard(meterRegistry, maxConcurrent, queueCapacity, timeoutMs,
+            minimumCalls, minimumCalls, 0.5, 60_000, 1, false);
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.counter("llm.calls", "outcome", outcome).count();
+    }
+
+    private void waitForQueued(int size) throws InterruptedException {
+        for (int i = 0; i < 500 && meterRegistry.get("llm.bulkhead.queued").gauge().value() < size; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
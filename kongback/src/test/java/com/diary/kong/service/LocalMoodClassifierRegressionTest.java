@@ -0,0 +1,72 @@
+package com.diary.kong.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 어휘 사전 회귀 테스트: src/test/resources/mood/lexicon-regression.tsv 의 문장이 지금도 같은 라벨로 분류되는지 본다.
+ * 문장은 사전에 맞춰 쓴 것이므로 실제 일기에 대한 정확도 평가가 아니다 (그건 gradle moodEval 로 라벨 표본에 대해 잰다).
+ */
+class LocalMoodClassifierRegressionTest {
+
+    private static final double CONFIDENCE_THRESHOLD = configuredThreshold();
+
+    private final LocalMoodClassifier classifier = new LocalMoodClassifier();
+
+    @Test
+    void confidentResultsKeepTheirLabels() throws IOException {
+        List<String[]> samples = loadSamples();
+
+        int covered = 0;
+        List<String> changed = new ArrayList<>();
+        for (String[] sample : samples) {
+            LocalMoodClassifier.Result result = classifier.classify(sample[1]);
+            if (result.getMood() == null || result.getConfidence() < CONFIDENCE_THRESHOLD) {
+                continue;
+            }
+            covered++;
+            if (!sample[0].equals(result.getMood().name())) {
+                changed.add(sample[0] + " -> " + result.getMood() + " : " + sample[1]);
+            }
+        }
+
+        assertThat(changed).isEmpty();
+        // 로컬에서 끝나는 문장 수가 바뀌면 의도한 변경인지 확인하고 이 값을 고친다
+        assertThat(covered).isEqualTo(59);
+    }
+
+    // 운영과 같은 임계값으로 본다: application.yml 의 mood.local.confidence-threshold
+    private static double configuredThreshold() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        return Double.parseDouble(yaml.getObject().getProperty("mood.local.confidence-threshold"));
+    }
+
+    private static List<String[]> loadSamples() throws IOException {
+        List<String> lines;
+        try (InputStream in = LocalMoodClassifierRegressionTest.class.getResourceAsStream("/mood/lexicon-regression.tsv")) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+
+        List<String[]> samples = new ArrayList<>();
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", 2);
+            if (columns.length == 2) {
+                samples.add(new String[]{columns[0].trim().toUpperCase(), columns[1]});
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,212 @@
+package com.diary.kong.service;
+
+import com.diary.kong.cache.MoodResultCache;
+import com.diary.kong.model.Diary;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import com.diary.kong.model.User;
+import com.diary.kong.repository.DiaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MoodAnalysisWorkerTest {
+
+    private static final Long DIARY_ID = 7L;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long LEASE_MS = 120_000;
+    private static final long RETRY_BACKOFF_MS = 10_000;
+    private static final long OPEN_DURATION_MS = 60_000;
+
+    private final User user = User.builder().id(1L).email("kong@kong.com").password("hash").nickname("kong").build();
+
+    // 선점할 때마다 DB 처럼 시도 횟수를 올린다
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final List<LlmCallGuard> guards = new ArrayList<>();
+
+    private DiaryRepository diaryRepository;
+    private MoodStatService moodStatService;
+    private ChatModel chatModel;
+    private MoodAnalysisWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        diaryRepository = mock(DiaryRepository.class);
+        moodStatService = mock(MoodStatService.class);
+        chatModel = mock(ChatModel.class);
+
+        when(diaryRepository.claimMoodAnalysis(eq(DIARY_ID), eq(MoodStatus.PENDING), any(), any()))
+            .thenAnswer(call -> {
+                attempts.incrementAndGet();
+                return 1;
+            });
+        when(diaryRepository.findById(DIARY_ID)).thenAnswer(call -> Optional.of(Diary.builder()
+            .id(DIARY_ID)
+            .content("오늘은 조금 복잡한 하루였다")
+            .moodStatus(MoodStatus.PENDING)
+            .moodAttempts(attempts.get())
+            .date(LocalDate.of(2025, 3, 1))
+            .user(user)
+            .build()));
+        when(diaryRepository.updateMoodResult(eq(DIARY_ID), any(), any())).thenReturn(1);
+
+        // 시도 한도 안에서는 회로가 열리지 않도록 최소 호출 수를 넉넉히 둔다
+        worker = newWorker(100);
+    }
+
+    @AfterEach
+    void shutdown() {
+        guards.forEach(LlmCallGuard::shutdown);
+    }
+
+    @Test
+    void claimTakesALeaseBeforeCallingTheModel() {
+        when(chatModel.call(anyString())).thenReturn("HAPPY");
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.process(DIARY_ID).join();
+
+        // 처리하던 노드가 죽어도 임대가 끝나면 스위퍼가 다시 가져갈 수 있다
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(diaryRepository).claimMoodAnalysis(eq(DIARY_ID), eq(MoodStatus.PENDING), any(), leaseUntil.capture());
+        assertThat(leaseUntil.getValue()).isAfterOrEqualTo(before.plus(Duration.ofMillis(LEASE_MS)));
+    }
+
+    @Test
+    void diaryClaimedElsewhereIsLeftAlone() {
+        when(diaryRepository.claimMoodAnalysis(eq(DIARY_ID), eq(MoodStatus.PENDING), any(), any())).thenReturn(0);
+
+        worker.process(DIARY_ID).join();
+
+        verifyNoInteractions(chatModel, moodStatService);
+        verify(diaryRepository, never()).findById(any());
+        verify(diaryRepository, never()).updateMoodResult(any(), any(), any());
+    }
+
+    @Test
+    void resultIsWrittenAndCountedOnce() {
+        when(chatModel.call(anyString())).thenReturn(" happy\n");
+
+        worker.process(DIARY_ID).join();
+
+        verify(diaryRepository).updateMoodResult(DIARY_ID, Mood.HAPPY, MoodStatus.COMPLETED);
+        verify(moodStatService).increment(1L, LocalDate.of(2025, 3, 1), Mood.HAPPY);
+        verify(diaryRepository, never()).rescheduleMoodAnalysis(any(), any());
+    }
+
+    @Test
+    void lowercaseLabelIsParsedUnderATurkishDefaultLocale() {
+        when(chatModel.call(anyString())).thenReturn("excited");
+        Locale defaultLocale = Locale.getDefault();
+        // tr 로케일에서는 "i".toUpperCase() 가 점 있는 İ 가 되어 EXCITED 와 맞지 않는다
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            worker.process(DIARY_ID).join();
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        verify(diaryRepository).updateMoodResult(DIARY_ID, Mood.EXCITED, MoodStatus.COMPLETED);
+    }
+
+    @Test
+    void resultForADiaryNoLongerPendingIsNotCounted() {
+        when(chatModel.call(anyString())).thenReturn("HAPPY");
+        // 임대가 끝난 사이 다른 노드가 먼저 결과를 반영했거나 일기가 삭제되었다
+        when(diaryRepository.updateMoodResult(eq(DIARY_ID), any(), any())).thenReturn(0);
+
+        worker.process(DIARY_ID).join();
+
+        verify(moodStatService, never()).increment(any(), any(), any());
+    }
+
+    @Test
+    void unknownLabelUsesAnAttemptAndBacksOff() {
+        when(chatModel.call(anyString())).thenReturn("오늘은 HAPPY 인 것 같아요");
+
+        worker.process(DIARY_ID).join();
+
+        verify(diaryRepository).rescheduleMoodAnalysis(eq(DIARY_ID), any());
+        verify(diaryRepository, never()).deferMoodAnalysis(any(), any());
+        verify(diaryRepository, never()).updateMoodResult(any(), any(), any());
+    }
+
+    @Test
+    void openCircuitDefersWithoutUsingAnAttempt() {
+        worker = newWorker(1);
+        when(chatModel.call(anyString())).thenThrow(new IllegalStateException("503"));
+
+        // 첫 실패는 이 일기의 시도로 세고 회로를 연다
+        worker.process(DIARY_ID).join();
+        verify(diaryRepository).rescheduleMoodAnalysis(eq(DIARY_ID), any());
+
+        // 회로가 열린 동안에는 모델을 부르지 않고, 시도 횟수를 되돌려 회로가 닫힐 즈음으로 미룬다
+        LocalDateTime before = LocalDateTime.now();
+        worker.process(DIARY_ID).join();
+
+        verify(chatModel, times(1)).call(anyString());
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(diaryRepository).deferMoodAnalysis(eq(DIARY_ID), next.capture());
+        assertThat(next.getValue()).isAfter(before.plusSeconds(50));
+        verify(diaryRepository, times(1)).rescheduleMoodAnalysis(any(), any());
+        verify(diaryRepository, never()).updateMoodResult(any(), any(), any());
+    }
+
+    @Test
+    void diaryTheModelKeepsRejectingBacksOffAndEndsFailed() {
+        when(chatModel.call(anyString())).thenThrow(new IllegalStateException("400 content filter"));
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            worker.process(DIARY_ID).join();
+        }
+
+        // 호출 실패는 장애로 미루지 않고 시도 횟수를 쓴다: 10초, 20초, 40초, 80초 백오프 뒤 FAILED
+        verify(diaryRepository, never()).deferMoodAnalysis(any(), any());
+        ArgumentCaptor<LocalDateTime> nextAttempts = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(diaryRepository, times(MAX_ATTEMPTS - 1)).rescheduleMoodAnalysis(eq(DIARY_ID), nextAttempts.capture());
+        List<LocalDateTime> scheduled = nextAttempts.getAllValues();
+        assertThat(scheduled.get(0)).isAfter(LocalDateTime.now().plusSeconds(9));
+        assertThat(scheduled.get(MAX_ATTEMPTS - 2)).isAfter(LocalDateTime.now().plusSeconds(79));
+
+        verify(diaryRepository).updateMoodResult(DIARY_ID, Mood.NEUTRAL, MoodStatus.FAILED);
+        verify(moodStatService, never()).increment(any(), any(), any());
+    }
+
+    private MoodAnalysisWorker newWorker(int minimumCalls) {
+        LlmCallGuard guard = new LlmCallGuard(new SimpleMeterRegistry(), 1, 1, 5_000, 100, minimumCalls, 0.5,
+            OPEN_DURATION_MS, 1, false);
+        guards.add(guard);
+        MoodAnalysisService moodAnalysisService = new MoodAnalysisService(chatModel, mock(MoodResultCache.class),
+            mock(LocalMoodClassifier.class), guard, new SimpleMeterRegistry());
+        return new MoodAnalysisWorker(diaryRepository, moodAnalysisService, guard,
+            mock(ThreadPoolTaskExecutor.class), mock(ApplicationEventPublisher.class), moodStatService,
+            mock(PlatformTransactionManager.class), MAX_ATTEMPTS, LEASE_MS, RETRY_BACKOFF_MS, 100, Mood.NEUTRAL);
+    }
+}
@@ -0,0 +1,243 @@
+package com.diary.kong.service;
+
+import com.diary.kong.common.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoodBatchClassifierTest {
+
+    private static final long LLM_LATENCY_MS = 40;
+
+    private MoodBatchClassifier classifier;
+    private LlmCallGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        if (classifier != null) {
+            classifier.shutdown();
+        }
+        if (guard != null) {
+            guard.shutdown();
+        }
+    }
+
+    @Test
+    void classifiesManyDiariesPerCall() throws Exception {
+        StubChatModel chatModel = new StubChatModel(false);
+        classifier = new MoodBatchClassifier(chatModel::call, chatModel::classifySingle, 16, 50, 4);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            String label = MoodAnalysisService.MOOD_LABELS.get(i % MoodAnalysisService.MOOD_LABELS.size());
+            futures.add(classifier.classify(label.toLowerCase() + " 오늘의 일기 " + i));
+            expected.add(label);
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(expected.get(i));
+        }
+
+        MoodBatchClassifier.BatchStats stats = classifier.getStats();
+        assertThat(stats.getLlmCalls()).isEqualTo(chatModel.calls.get());
+        assertThat(stats.getBatchCalls()).isEqualTo(4);
+        assertThat(stats.getCallsSaved()).isEqualTo(60);
+    }
+
+    @Test
+    void flushesPartialBatchAfterWaitWindow() throws Exception {
+        StubChatModel chatModel = new StubChatModel(false);
+        classifier = new MoodBatchClassifier(chatModel::call, chatModel::classifySingle, 16, 30, 4);
+
+        CompletableFuture<String> first = classifier.classify("happy 산책");
+        CompletableFuture<String> second = classifier.classify("sad 비 오는 날");
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("HAPPY");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("SAD");
+
+        MoodBatchClassifier.BatchStats stats = classifier.getStats();
+        assertThat(stats.getBatchCalls()).isEqualTo(1);
+        assertThat(stats.getAvgQueuedMicros()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(10));
+    }
+
+    @Test
+    void fallsBackToSingleCallsWhenBatchReplyIsUnparseable() throws Exception {
+        StubChatModel chatModel = new StubChatModel(true);
+        classifier = new MoodBatchClassifier(chatModel::call, chatModel::classifySingle, 4, 50, 1);
+
+        List<CompletableFuture<String>> futures = List.of(
+            classifier.classify("happy 1"), classifier.classify("calm 2"),
+            classifier.classify("tired 3"), classifier.classify("lonely 4"));
+
+        assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("HAPPY");
+        assertThat(futures.get(1).get(5, TimeUnit.SECONDS)).isEqualTo("CALM");
+        assertThat(futures.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("TIRED");
+        assertThat(futures.get(3).get(5, TimeUnit.SECONDS)).isEqualTo("LONELY");
+
+        MoodBatchClassifier.BatchStats stats = classifier.getStats();
+        assertThat(stats.getBatchCalls()).isEqualTo(1);
+        assertThat(stats.getFallbackItems()).isEqualTo(4);
+        assertThat(stats.getSingleCalls()).isEqualTo(4);
+    }
+
+    @Test
+    void keepsOnlyValidNumberedAnswers() {
+        StubChatModel chatModel = new StubChatModel(false);
+        classifier = new MoodBatchClassifier(chatModel::call, chatModel::classifySingle, 16, 50, 1);
+
+        assertThat(classifier.parseBatchReply("1: HAPPY\n2 - [sad]\n3: UNKNOWN\n9: CALM\n설명입니다", 3))
+            .containsOnlyKeys(1, 2)
+            .containsEntry(1, "HAPPY")
+            .containsEntry(2, "SAD");
+    }
+
+    @Test
+    void fallsBackToSingleCallsWhenBatchCallThrows() throws Exception {
+        // 운영처럼 LlmCallGuard 를 거친다: 모델 오류는 LlmCallFailedException 으로 바뀌어 단건 호출로 대체된다
+        guard = guard(100);
+        StubChatModel chatModel = new StubChatModel(false);
+        classifier = new MoodBatchClassifier(prompt -> guard.execute(() -> {
+            throw new IllegalStateException("응답 형식 오류");
+        }), content -> guard.execute(() -> chatModel.classifySingle(content)), 2, 50, 1);
+
+        CompletableFuture<String> first = classifier.classify("happy 1");
+        CompletableFuture<String> second = classifier.classify("calm 2");
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("HAPPY");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("CALM");
+        assertThat(classifier.getStats().getFallbackItems()).isEqualTo(2);
+        assertThat(classifier.getStats().getSingleCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void openCircuitFailsBatchWithoutSingleCalls() {
+        // 실패 한 번으로 회로가 열리는 가드: 배치 호출은 LlmUnavailableException 으로 바로 거절된다
+        guard = guard(1);
+        assertThatThrownBy(() -> guard.execute(() -> {
+            throw new IllegalStateException("500 from model");
+        })).isInstanceOf(LlmCallFailedException.class);
+
+        StubChatModel chatModel = new StubChatModel(false);
+        classifier = new MoodBatchClassifier(prompt -> guard.execute(() -> chatModel.call(prompt)),
+            content -> guard.execute(() -> chatModel.classifySingle(content)), 2, 50, 1);
+
+        CompletableFuture<String> first = classifier.classify("happy 1");
+        CompletableFuture<String> second = classifier.classify("calm 2");
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LlmUnavailableException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LlmUnavailableException.class);
+        assertThat(chatModel.calls.get()).isZero();
+    }
+
+    @Test
+    void batchesBeyondInFlightLimitAreRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubChatModel chatModel = new StubChatModel(false);
+        classifier = new MoodBatchClassifier(prompt -> {
+            await(release);
+            return chatModel.call(prompt);
+        }, chatModel::classifySingle, 2, 1_000, 1);
+
+        // 배치 하나는 실행 중, 하나는 대기열, 세 번째는 거절
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(classifier.classify("happy " + i));
+        }
+
+        assertThatThrownBy(() -> futures.get(4).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(TooManyRequestsException.class);
+        assertThat(futures.get(5)).isCompletedExceptionally();
+        assertThat(classifier.getStats().getRejectedItems()).isEqualTo(2);
+
+        release.countDown();
+        for (int i = 0; i < 4; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("HAPPY");
+        }
+    }
+
+    private static LlmCallGuard guard(int minimumCalls) {
+        return new LlmCallGuard(new SimpleMeterRegistry(), 4, 4, 5_000,
+            minimumCalls, minimumCalls, 0.5, 60_000, 1, false);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ✅ 일기 첫 단어를 감정으로 돌려주는 가짜 ChatModel (호출마다 LLM_LATENCY_MS 만큼 지연)
+    static class StubChatModel implements ChatModel {
+
+        private static final Pattern BATCH_ITEM = Pattern.compile("^\\s*(\\d+)\\. \"(.*)\"\\s*$", Pattern.MULTILINE);
+        private static final Pattern SINGLE_ITEM = Pattern.compile("일기 내용:\\s*\"(.*)\"", Pattern.DOTALL);
+
+        private final boolean garbleBatchReplies;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubChatModel(boolean garbleBatchReplies) {
+            this.garbleBatchReplies = garbleBatchReplies;
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            calls.incrementAndGet();
+            sleep();
+
+            String text = prompt.getContents();
+            Matcher batch = BATCH_ITEM.matcher(text);
+            StringBuilder reply = new StringBuilder();
+            while (batch.find()) {
+                reply.append(batch.group(1)).append(": ").append(labelOf(batch.group(2))).append('\n');
+            }
+
+            if (reply.isEmpty()) {
+                Matcher single = SINGLE_ITEM.matcher(text);
+                reply.append(single.find() ? labelOf(single.group(1)) : "NEUTRAL");
+            } else if (garbleBatchReplies) {
+                reply = new StringBuilder("분석 결과를 정리해 드릴게요!");
+            }
+
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(reply.toString()))));
+        }
+
+        String classifySingle(String content) {
+            calls.incrementAndGet();
+            sleep();
+            return labelOf(content);
+        }
+
+        private static String labelOf(String content) {
+            return content.trim().split("\\s+")[0].toUpperCase(Locale.ROOT);
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(LLM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
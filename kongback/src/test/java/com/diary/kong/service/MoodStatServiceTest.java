@@ -0,0 +1,102 @@
+package com.diary.kong.service;
+
+import com.diary.kong.dto.MonthMoodStatsDto;
+import com.diary.kong.dto.MoodStatsDto;
+import com.diary.kong.model.Mood;
+import com.diary.kong.model.MoodStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 증감은 MySQL 의 INSERT ... ON DUPLICATE KEY UPDATE 를 쓰므로 H2 를 MySQL 모드로 띄운다
+@DataJpaTest(showSql = false, properties = {
+    "spring.test.database.replace=none",
+    "spring.datasource.url=jdbc:h2:mem:mood-stat;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(MoodStatService.class)
+class MoodStatServiceTest {
+
+    @Autowired
+    private MoodStatService moodStatService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password, nickname) VALUES (?, ?, ?)", "stat@kong.com", "hash", "kong");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, "stat@kong.com");
+    }
+
+    @Test
+    void incrementsAreAggregatedPerMonthAndYear() {
+        moodStatService.increment(userId, LocalDate.of(2025, 3, 1), Mood.HAPPY);
+        moodStatService.increment(userId, LocalDate.of(2025, 3, 15), Mood.HAPPY);
+        moodStatService.increment(userId, LocalDate.of(2025, 3, 31), Mood.SAD);
+        moodStatService.increment(userId, LocalDate.of(2025, 1, 2), Mood.CALM);
+        moodStatService.increment(userId, LocalDate.of(2024, 12, 31), Mood.ANGRY);   // 다른 해
+        moodStatService.add(userId, YearMonth.of(2025, 1), Mood.TIRED, 3);           // 가져오기 배치
+        moodStatService.decrement(userId, LocalDate.of(2025, 3, 31), Mood.SAD);      // 삭제
+
+        MoodStatsDto stats = moodStatService.getYearStats(userId, 2025);
+
+        assertThat(stats.getTotal()).isEqualTo(6);
+        assertThat(stats.getCounts()).containsExactly(
+            Map.entry("HAPPY", 2L), Map.entry("CALM", 1L), Map.entry("TIRED", 3L));
+        assertThat(stats.getMonths()).extracting(MonthMoodStatsDto::getYearMonth).containsExactly("2025-01", "2025-03");
+        assertThat(stats.getMonths().get(1).getTotal()).isEqualTo(2);
+        assertThat(stats.getMonths().get(1).getCounts()).containsOnlyKeys("HAPPY");
+
+        assertThat(moodStatService.getYearStats(userId, 2024).getCounts()).containsExactly(Map.entry("ANGRY", 1L));
+    }
+
+    @Test
+    void rebuildDetectsDriftAndRewritesCountersFromDiaries() {
+        insertDiary(1, LocalDate.of(2025, 5, 1), Mood.HAPPY, MoodStatus.COMPLETED);
+        insertDiary(2, LocalDate.of(2025, 5, 2), Mood.HAPPY, MoodStatus.COMPLETED);
+        insertDiary(3, LocalDate.of(2025, 6, 1), Mood.SAD, MoodStatus.COMPLETED);
+        insertDiary(4, LocalDate.of(2025, 6, 2), null, MoodStatus.PENDING);          // 아직 감정 없음
+        insertDiary(5, LocalDate.of(2025, 6, 3), Mood.NEUTRAL, MoodStatus.FAILED);   // 대체 감정은 세지 않음
+
+        // 카운터가 어긋난 상태: 5월 HAPPY 하나 누락, 7월에는 없는 일기가 남아 있음
+        moodStatService.increment(userId, LocalDate.of(2025, 5, 1), Mood.HAPPY);
+        moodStatService.increment(userId, LocalDate.of(2025, 6, 1), Mood.SAD);
+        moodStatService.increment(userId, LocalDate.of(2025, 7, 1), Mood.BORED);
+
+        assertThat(moodStatService.rebuild(userId)).isEqualTo(2);
+
+        MoodStatsDto stats = moodStatService.getYearStats(userId, 2025);
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getCounts()).containsExactly(Map.entry("HAPPY", 2L), Map.entry("SAD", 1L));
+        assertThat(stats.getMonths()).extracting(MonthMoodStatsDto::getYearMonth).containsExactly("2025-05", "2025-06");
+
+        // 다시 돌리면 일치
+        assertThat(moodStatService.rebuild(userId)).isZero();
+    }
+
+    private void insertDiary(long id, LocalDate date, Mood mood, MoodStatus status) {
+        jdbcTemplate.update("INSERT INTO diary (id, content, mood, mood_status, mood_attempts, date, created_at, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            id, "일기 " + id, mood == null ? null : mood.getCode(), status.name(), 1,
+            Date.valueOf(date), Timestamp.valueOf(date.atTime(21, 0)), userId);
+    }
+}